@@ -34,6 +34,7 @@ export interface RecurrenceRequest {
   frequency: 'MONTHLY' | 'WEEKLY' | 'BIWEEKLY' | 'YEARLY';
   endDate?: string;
   maxOccurrences?: number;
+  lazy?: boolean;
 }
 
 export interface UpdateAccountRequest {
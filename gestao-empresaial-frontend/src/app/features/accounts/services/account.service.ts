@@ -12,6 +12,16 @@ import {
   PageResponse,
 } from '../models/account.model';
 
+export interface AccountFilters {
+  status?: AccountStatus[];
+  categoryId?: string;
+  supplierId?: string;
+  clientId?: string;
+  dueDateFrom?: string;
+  dueDateTo?: string;
+  search?: string;
+}
+
 @Injectable({ providedIn: 'root' })
 export class AccountService {
   private readonly http = inject(HttpClient);
@@ -30,22 +40,32 @@ export class AccountService {
 
   loadAccounts(
     type: AccountType,
-    filters?: {
-      status?: AccountStatus[];
-      categoryId?: string;
-      supplierId?: string;
-      clientId?: string;
-      dueDateFrom?: string;
-      dueDateTo?: string;
-    },
+    filters?: AccountFilters,
     page = 0,
     size = 20,
   ): Observable<PageResponse<AccountResponse>> {
-    let params = new HttpParams()
-      .set('type', type)
+    const params = this.filterParams(type, filters)
       .set('page', page.toString())
       .set('size', size.toString());
 
+    return this.http.get<PageResponse<AccountResponse>>(this.API_URL, { params }).pipe(
+      tap((response) => {
+        this._accounts.set(response.content);
+        this._totalElements.set(response.totalElements);
+        this._totalPages.set(response.totalPages);
+        this._currentPage.set(response.number);
+      }),
+    );
+  }
+
+  exportAccounts(type: AccountType, filters?: AccountFilters, format: 'CSV' | 'XLSX' = 'CSV'): Observable<Blob> {
+    const params = this.filterParams(type, filters).set('format', format);
+    return this.http.get(`${this.API_URL}/export`, { params, responseType: 'blob' });
+  }
+
+  private filterParams(type: AccountType, filters?: AccountFilters): HttpParams {
+    let params = new HttpParams().set('type', type);
+
     if (filters?.status?.length) {
       params = params.set('status', filters.status.join(','));
     }
@@ -64,15 +84,10 @@ export class AccountService {
     if (filters?.dueDateTo) {
       params = params.set('dueDateTo', filters.dueDateTo);
     }
-
-    return this.http.get<PageResponse<AccountResponse>>(this.API_URL, { params }).pipe(
-      tap((response) => {
-        this._accounts.set(response.content);
-        this._totalElements.set(response.totalElements);
-        this._totalPages.set(response.totalPages);
-        this._currentPage.set(response.number);
-      }),
-    );
+    if (filters?.search?.trim()) {
+      params = params.set('q', filters.search.trim());
+    }
+    return params;
   }
 
   getById(id: string): Observable<AccountResponse> {
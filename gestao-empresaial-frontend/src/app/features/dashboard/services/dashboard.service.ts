@@ -1,6 +1,6 @@
 import { inject, Injectable } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
-import { forkJoin, Observable } from 'rxjs';
+import { Observable } from 'rxjs';
 import {
   CashFlowPoint,
   DashboardPeriod,
@@ -26,11 +26,6 @@ export class DashboardService {
       .set('from', period.from)
       .set('to', period.to);
 
-    return forkJoin({
-      summary: this.http.get<DashboardSummary>(`${this.base}/summary`, { params }),
-      cashFlow: this.http.get<CashFlowPoint[]>(`${this.base}/cash-flow`, { params }),
-      revenueExpense: this.http.get<RevenueExpenseItem[]>(`${this.base}/revenue-expense`, { params }),
-      monthlyEvolution: this.http.get<MonthlyEvolutionPoint[]>(`${this.base}/monthly-evolution`, { params }),
-    });
+    return this.http.get<DashboardData>(`${this.base}/overview`, { params });
   }
 }
@@ -16,7 +16,7 @@ export interface BankImport {
   id: string;
   fileName: string;
   fileType: 'OFX' | 'CSV' | 'PDF';
-  status: 'PENDING_REVIEW' | 'COMPLETED' | 'CANCELLED';
+  status: 'PROCESSING' | 'PENDING_REVIEW' | 'COMPLETED' | 'CANCELLED' | 'FAILED';
   totalRecords: number;
   createdAt: string;
   items: BankImportItem[];
@@ -26,7 +26,7 @@ export interface BankImportSummary {
   id: string;
   fileName: string;
   fileType: 'OFX' | 'CSV' | 'PDF';
-  status: 'PENDING_REVIEW' | 'COMPLETED' | 'CANCELLED';
+  status: 'PROCESSING' | 'PENDING_REVIEW' | 'COMPLETED' | 'CANCELLED' | 'FAILED';
   totalRecords: number;
   createdAt: string;
 }
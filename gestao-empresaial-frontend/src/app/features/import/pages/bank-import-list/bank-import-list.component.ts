@@ -28,19 +28,24 @@ export class BankImportListComponent implements OnInit {
 
   protected statusLabel(status: string): string {
     return (
-      ({ PENDING_REVIEW: 'Em Revisão', COMPLETED: 'Concluída', CANCELLED: 'Cancelada' } as Record<
-        string,
-        string
-      >)[status] ?? status
+      ({
+        PROCESSING: 'Processando',
+        PENDING_REVIEW: 'Em Revisão',
+        COMPLETED: 'Concluída',
+        CANCELLED: 'Cancelada',
+        FAILED: 'Falhou',
+      } as Record<string, string>)[status] ?? status
     );
   }
 
   protected statusClass(status: string): string {
     return (
       ({
+        PROCESSING: 'bg-sky-100 text-sky-700',
         PENDING_REVIEW: 'bg-amber-100 text-amber-700',
         COMPLETED: 'bg-emerald-100 text-emerald-700',
         CANCELLED: 'bg-gray-100 text-gray-600',
+        FAILED: 'bg-red-100 text-red-700',
       } as Record<string, string>)[status] ?? ''
     );
   }
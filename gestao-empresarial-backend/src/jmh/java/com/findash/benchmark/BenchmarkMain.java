@@ -0,0 +1,63 @@
+package com.findash.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+
+// Roda os benchmarks com o profiler de GC (aceita as opcoes de linha de comando do JMH) e, no fim,
+// resume vazao e bytes alocados por transacao, normalizando pelo parametro "transactions" quando existe
+public final class BenchmarkMain {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println();
+        System.out.printf("%-70s %16s %16s%n", "Benchmark", "tx/s", "bytes/tx");
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Result primary = result.getPrimaryResult();
+            if (!"ops/s".equals(primary.getScoreUnit())) continue;
+
+            String size = params.getParam("transactions");
+            int perOperation = size != null ? Integer.parseInt(size) : 1;
+            Result allocation = allocation(result.getSecondaryResults());
+
+            System.out.printf("%-70s %16.0f %16s%n",
+                label(params),
+                primary.getScore() * perOperation,
+                allocation != null ? String.format("%.1f", allocation.getScore() / perOperation) : "-");
+        }
+    }
+
+    private static Result allocation(Map<String, Result> secondary) {
+        for (Map.Entry<String, Result> entry : secondary.entrySet()) {
+            if (entry.getKey().endsWith(ALLOCATION_METRIC)) return entry.getValue();
+        }
+        return null;
+    }
+
+    private static String label(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder label = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        for (String key : params.getParamsKeys()) {
+            label.append(' ').append(key).append('=').append(params.getParam(key));
+        }
+        return label.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.findash.benchmark;
+
+import com.findash.service.parser.BankStatementParser;
+import com.findash.service.parser.CsvParser;
+import com.findash.service.parser.OfxParser;
+import com.findash.service.parser.PdfParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Uma operacao = um extrato inteiro; o BenchmarkMain divide pelo parametro "transactions"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ParserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int transactions;
+
+    @Param({"CSV", "OFX", "PDF"})
+    public String format;
+
+    private BankStatementParser parser;
+    private byte[] statement;
+    private String filename;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<StatementGenerator.Line> lines =
+            StatementGenerator.lines(transactions, StatementGenerator.counterparties(500));
+        switch (format) {
+            case "CSV" -> {
+                parser = new CsvParser();
+                statement = StatementGenerator.csv(lines);
+                filename = "extrato.csv";
+            }
+            case "OFX" -> {
+                parser = new OfxParser();
+                statement = StatementGenerator.ofx(lines);
+                filename = "extrato.ofx";
+            }
+            case "PDF" -> {
+                parser = new PdfParser();
+                statement = StatementGenerator.pdf(lines);
+                filename = "extrato.pdf";
+            }
+            default -> throw new IllegalArgumentException("Formato desconhecido: " + format);
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws Exception {
+        parser.parse(new ByteArrayInputStream(statement), filename, blackhole::consume);
+    }
+}
@@ -0,0 +1,133 @@
+package com.findash.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Extratos sinteticos e deterministicos (mesma semente, mesmos bytes) nos formatos que os parsers aceitam
+final class StatementGenerator {
+
+    private static final String[] OPERATIONS = {
+        "PIX ENVIADO", "PIX RECEBIDO", "TED ENVIADA", "PAGAMENTO BOLETO", "COMPRA DEBITO", "TARIFA BANCARIA"
+    };
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int PDF_LINES_PER_PAGE = 50;
+
+    private StatementGenerator() {}
+
+    record Line(LocalDate date, String description, long cents, boolean credit) {}
+
+    static List<String> counterparties(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add("FORNECEDOR " + String.format("%05d", i) + " LTDA");
+        }
+        return names;
+    }
+
+    // Metade das descricoes cita um fornecedor conhecido, como num extrato real
+    static List<Line> lines(int transactions, List<String> counterparties) {
+        Random random = new Random(42);
+        List<Line> lines = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            String operation = OPERATIONS[random.nextInt(OPERATIONS.length)];
+            String target = random.nextBoolean() && !counterparties.isEmpty()
+                ? counterparties.get(random.nextInt(counterparties.size()))
+                : "LOJA " + random.nextInt(100_000);
+            lines.add(new Line(
+                START.plusDays(random.nextInt(365)),
+                operation + " - " + target,
+                1 + random.nextInt(2_000_000),
+                operation.endsWith("RECEBIDO")));
+        }
+        return lines;
+    }
+
+    static byte[] csv(List<Line> lines) {
+        StringBuilder out = new StringBuilder(lines.size() * 64);
+        out.append("data;descricao;valor;tipo\n");
+        for (Line line : lines) {
+            out.append(line.date()).append(';')
+                .append(line.description()).append(';')
+                .append(line.credit() ? "" : "-").append(decimal(line.cents(), '.')).append(';')
+                .append(line.credit() ? "CREDIT" : "DEBIT").append('\n');
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] ofx(List<Line> lines) {
+        StringBuilder out = new StringBuilder(lines.size() * 160);
+        out.append("OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\nSECURITY:NONE\nENCODING:USASCII\n")
+            .append("CHARSET:1252\nCOMPRESSION:NONE\nOLDFILEUID:NONE\nNEWFILEUID:NONE\n\n")
+            .append("<OFX>\n<SIGNONMSGSRSV1>\n<SONRS><STATUS><CODE>0<SEVERITY>INFO</STATUS>")
+            .append("<DTSERVER>20260101120000</DTSERVER><LANGUAGE>POR</LANGUAGE></SONRS>\n</SIGNONMSGSRSV1>\n")
+            .append("<BANKMSGSRSV1>\n<STMTTRNRS>\n<TRNUID>1</TRNUID>\n<STMTRS>\n<CURDEF>BRL</CURDEF>\n")
+            .append("<BANKACCTFROM><BANKID>001</BANKID><ACCTID>12345</ACCTID><ACCTTYPE>CHECKING</ACCTTYPE></BANKACCTFROM>\n")
+            .append("<BANKTRANLIST>\n<DTSTART>20260101</DTSTART>\n<DTEND>20261231</DTEND>\n");
+        int fitId = 0;
+        for (Line line : lines) {
+            out.append("<STMTTRN>\n<TRNTYPE>").append(line.credit() ? "CREDIT" : "DEBIT").append("</TRNTYPE>\n")
+                .append("<DTPOSTED>").append(line.date().format(OFX_DATE)).append("120000</DTPOSTED>\n")
+                .append("<TRNAMT>").append(line.credit() ? "" : "-").append(decimal(line.cents(), '.')).append("</TRNAMT>\n")
+                .append("<FITID>").append(++fitId).append("</FITID>\n")
+                .append("<MEMO>").append(line.description()).append("</MEMO>\n</STMTTRN>\n");
+        }
+        out.append("</BANKTRANLIST>\n<LEDGERBAL><BALAMT>0.00</BALAMT><DTASOF>20261231</DTASOF></LEDGERBAL>\n")
+            .append("</STMTRS>\n</STMTTRNRS>\n</BANKMSGSRSV1>\n</OFX>\n");
+        return out.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Layout aceito pelo PdfParser: "dd/MM/yyyy  DESCRICAO    1.234,56 C"
+    static byte[] pdf(List<Line> lines) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.COURIER);
+            for (int start = 0; start < lines.size(); start += PDF_LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(font, 9);
+                    content.setLeading(14f);
+                    content.newLineAtOffset(30, 740);
+                    for (Line line : lines.subList(start, Math.min(start + PDF_LINES_PER_PAGE, lines.size()))) {
+                        content.showText(line.date().format(BR_DATE) + "  " + line.description() + "    "
+                            + (line.credit() ? "" : "-") + brazilianAmount(line.cents())
+                            + (line.credit() ? " C" : ""));
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static String decimal(long cents, char separator) {
+        return cents / 100 + String.valueOf(separator) + String.format("%02d", cents % 100);
+    }
+
+    private static String brazilianAmount(long cents) {
+        String units = Long.toString(cents / 100);
+        StringBuilder grouped = new StringBuilder();
+        for (int i = 0; i < units.length(); i++) {
+            if (i > 0 && (units.length() - i) % 3 == 0) grouped.append('.');
+            grouped.append(units.charAt(i));
+        }
+        return grouped + "," + String.format("%02d", cents % 100);
+    }
+}
@@ -0,0 +1,76 @@
+package com.findash.benchmark;
+
+import com.findash.entity.AccountType;
+import com.findash.entity.Supplier;
+import com.findash.entity.SupplierMatchRule;
+import com.findash.service.matching.SupplierMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Passo de conciliacao do import: cada descricao do extrato contra as regras e fornecedores da empresa.
+// Com @OperationsPerInvocation uma operacao ja e uma transacao.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupplierMatcherBenchmark {
+
+    private static final int DESCRIPTIONS = 10_000;
+
+    @Param({"100", "1000", "10000"})
+    public int counterparties;
+
+    private SupplierMatcher matcher;
+    private String[] descriptions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UUID companyId = UUID.randomUUID();
+        List<String> names = StatementGenerator.counterparties(counterparties);
+
+        List<Supplier> suppliers = new ArrayList<>(names.size());
+        List<SupplierMatchRule> rules = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            Supplier supplier = new Supplier(companyId, names.get(i));
+            supplier.setId(UUID.randomUUID());
+            suppliers.add(supplier);
+            // Uma regra aprendida para cada dez fornecedores
+            if (i % 10 == 0) {
+                rules.add(new SupplierMatchRule(companyId, "pix enviado - " + names.get(i).toLowerCase(),
+                    supplier.getId(), UUID.randomUUID()));
+            }
+        }
+        matcher = SupplierMatcher.compile(rules, suppliers, List.of());
+
+        descriptions = StatementGenerator.lines(DESCRIPTIONS, names).stream()
+            .map(StatementGenerator.Line::description)
+            .toArray(String[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DESCRIPTIONS)
+    public void match(Blackhole blackhole) {
+        for (String description : descriptions) {
+            blackhole.consume(matcher.match(description, AccountType.PAYABLE));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.findash.command;
+
+import com.findash.repository.DashboardDailyTotalRepository;
+import com.findash.service.DashboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Reconstroi dashboard_daily_totals a partir de accounts na subida da aplicacao.
+// Uso: --app.dashboard.rebuild-aggregates=all ou uma lista de company ids separada por virgula.
+@Component
+public class DashboardAggregateRebuildRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregateRebuildRunner.class);
+
+    private final DashboardService dashboardService;
+    private final DashboardDailyTotalRepository totalRepository;
+    private final String target;
+
+    public DashboardAggregateRebuildRunner(DashboardService dashboardService,
+                                           DashboardDailyTotalRepository totalRepository,
+                                           @Value("${app.dashboard.rebuild-aggregates:}") String target) {
+        this.dashboardService = dashboardService;
+        this.totalRepository = totalRepository;
+        this.target = target;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (target == null || target.isBlank()) return;
+
+        List<UUID> companyIds = "all".equalsIgnoreCase(target.trim())
+            ? totalRepository.findCompanyIdsToRebuild()
+            : Arrays.stream(target.split(",")).map(String::trim).map(UUID::fromString).toList();
+
+        // Uma transacao por empresa para nao segurar o lock da tabela durante o backfill inteiro
+        for (UUID companyId : companyIds) {
+            int rows = dashboardService.rebuildAggregates(companyId);
+            log.info("Rebuilt dashboard aggregates for company {} ({} rows)", companyId, rows);
+        }
+    }
+}
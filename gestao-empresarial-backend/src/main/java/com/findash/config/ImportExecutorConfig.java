@@ -0,0 +1,26 @@
+package com.findash.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ImportExecutorConfig {
+
+    // Limita quantas importacoes rodam ao mesmo tempo e quantas ficam na fila; acima disso o upload e recusado
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService bankImportExecutor(
+            @Value("${app.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${app.import.queue-capacity:20}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+            maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofVirtual().name("bank-import-", 0).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
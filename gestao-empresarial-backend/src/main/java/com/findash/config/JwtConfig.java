@@ -11,7 +11,8 @@ public class JwtConfig {
     @Bean
     public JwtTokenProvider jwtTokenProvider(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.access-token-expiration-ms}") long expirationMs) {
-        return new JwtTokenProvider(secret, expirationMs);
+            @Value("${app.jwt.access-token-expiration-ms}") long expirationMs,
+            @Value("${app.jwt.verified-token-cache-size:4096}") int verifiedTokenCacheSize) {
+        return new JwtTokenProvider(secret, expirationMs, verifiedTokenCacheSize);
     }
 }
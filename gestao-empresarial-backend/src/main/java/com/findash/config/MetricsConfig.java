@@ -0,0 +1,56 @@
+package com.findash.config;
+
+import com.findash.metrics.QueryCounter;
+import com.findash.scheduler.AccountOverdueScheduler;
+import com.findash.service.dashboard.DashboardCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+
+    // Mesmos nomes das metricas de cache do Micrometer (cache.gets, cache.evictions, cache.size)
+    @Bean
+    public MeterBinder dashboardCacheMetrics(DashboardCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().hits())
+                .tags("cache", "dashboard", "result", "hit")
+                .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().misses())
+                .tags("cache", "dashboard", "result", "miss")
+                .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, c -> c.stats().evictions())
+                .tag("cache", "dashboard")
+                .register(registry);
+            Gauge.builder("cache.size", cache, c -> c.stats().size())
+                .tag("cache", "dashboard")
+                .register(registry);
+        };
+    }
+
+    // Contadores: so o no com o lease executa, mas todos exportam a serie (zero onde nao rodou),
+    // entao a soma entre replicas e continua. Duracao por execucao e alerta de job parado usam o
+    // timer findash.scheduler.job{job="account-overdue"} do ScheduledJobRunner.
+    @Bean
+    public MeterBinder overdueJobMetrics(AccountOverdueScheduler scheduler) {
+        return registry -> {
+            FunctionCounter.builder("findash.scheduler.overdue.runs", scheduler, s -> s.stats().runs())
+                .register(registry);
+            FunctionCounter.builder("findash.scheduler.overdue.chunks", scheduler, s -> s.stats().chunks())
+                .register(registry);
+            FunctionCounter.builder("findash.scheduler.overdue.updated", scheduler, s -> s.stats().updated())
+                .description("Contas marcadas como OVERDUE")
+                .register(registry);
+        };
+    }
+}
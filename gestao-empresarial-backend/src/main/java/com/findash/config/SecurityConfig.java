@@ -1,8 +1,10 @@
 package com.findash.config;
 
 import com.findash.security.CompanyContextFilter;
+import com.findash.security.CompanyMembershipCache;
 import com.findash.security.JwtAuthenticationFilter;
 import com.findash.security.JwtTokenProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -17,9 +19,14 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
+    private final CompanyMembershipCache membershipCache;
+    private final int managementPort;
 
-    public SecurityConfig(JwtTokenProvider tokenProvider) {
+    public SecurityConfig(JwtTokenProvider tokenProvider, CompanyMembershipCache membershipCache,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.tokenProvider = tokenProvider;
+        this.membershipCache = membershipCache;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -30,12 +37,14 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login", "/api/auth/refresh").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                // Metricas so sem token quando chegam pela porta de gerenciamento, que nao e exposta
+                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(new JwtAuthenticationFilter(tokenProvider),
                              UsernamePasswordAuthenticationFilter.class)
-            .addFilterAfter(new CompanyContextFilter(),
+            .addFilterAfter(new CompanyContextFilter(membershipCache),
                             JwtAuthenticationFilter.class);
 
         return http.build();
@@ -5,14 +5,19 @@ import com.findash.entity.AccountStatus;
 import com.findash.entity.AccountType;
 import com.findash.security.CompanyContextHolder;
 import com.findash.service.AccountService;
+import com.findash.service.export.AccountExportFormat;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,9 +42,55 @@ public class AccountController {
             @RequestParam(required = false) UUID clientId,
             @RequestParam(required = false) LocalDate dueDateFrom,
             @RequestParam(required = false) LocalDate dueDateTo,
+            @RequestParam(required = false) String q,
             @PageableDefault(size = 20, sort = "dueDate", direction = Sort.Direction.ASC) Pageable pageable) {
         UUID companyId = CompanyContextHolder.get();
-        return ResponseEntity.ok(accountService.list(companyId, type, status, categoryId, supplierId, clientId, dueDateFrom, dueDateTo, pageable));
+        return ResponseEntity.ok(accountService.list(companyId, type, status, categoryId, supplierId, clientId, dueDateFrom, dueDateTo, q, pageable));
+    }
+
+    // Paginacao por cursor em (dueDate, id): "cursor" vazio pede a primeira pagina e o "nextCursor"
+    // da resposta pede a seguinte. O total so e calculado com includeTotal=true.
+    @GetMapping(params = "cursor")
+    public ResponseEntity<AccountCursorPageDTO> listByCursor(
+            @RequestParam AccountType type,
+            @RequestParam(required = false) List<AccountStatus> status,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID supplierId,
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @RequestParam(required = false) String q,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        UUID companyId = CompanyContextHolder.get();
+        return ResponseEntity.ok(accountService.listByCursor(companyId, type, status, categoryId, supplierId,
+            clientId, dueDateFrom, dueDateTo, q, cursor, size, includeTotal));
+    }
+
+    // Todas as contas do filtro, sem paginacao. As linhas vem do banco por cursor e sao escritas
+    // na resposta conforme chegam.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam AccountType type,
+            @RequestParam(required = false) List<AccountStatus> status,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) UUID supplierId,
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(required = false) LocalDate dueDateFrom,
+            @RequestParam(required = false) LocalDate dueDateTo,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "CSV") AccountExportFormat format) {
+        // O corpo roda em outra thread, fora do CompanyContextHolder
+        UUID companyId = CompanyContextHolder.get();
+        StreamingResponseBody body = output -> accountService.export(companyId, type, status, categoryId,
+            supplierId, clientId, dueDateFrom, dueDateTo, q, format, output);
+
+        String filename = "contas-" + type.name().toLowerCase() + "." + format.extension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
     }
 
     @GetMapping("/{id}")
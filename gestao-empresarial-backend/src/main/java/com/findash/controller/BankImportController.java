@@ -4,6 +4,10 @@ import com.findash.dto.bankimport.*;
 import com.findash.security.CompanyContextHolder;
 import com.findash.security.UserContext;
 import com.findash.service.BankImportService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -18,17 +22,25 @@ import java.util.UUID;
 @RequestMapping("/api/imports")
 public class BankImportController {
 
+    private static final int MAX_ITEMS_PAGE_SIZE = 1000;
+
     private final BankImportService bankImportService;
 
     public BankImportController(BankImportService bankImportService) {
         this.bankImportService = bankImportService;
     }
 
+    // Com async=true responde 202 com a importacao em PROCESSING; o progresso sai em /{id}/progress
     @PostMapping("/upload")
     public ResponseEntity<BankImportResponseDTO> upload(
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean async) {
         UUID companyId = CompanyContextHolder.get();
         UUID userId = resolveUserId();
+        if (async) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(bankImportService.uploadAsync(companyId, userId, file));
+        }
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(bankImportService.upload(companyId, userId, file));
     }
@@ -39,10 +51,24 @@ public class BankImportController {
         return ResponseEntity.ok(bankImportService.list(companyId));
     }
 
+    // Sem "page" retorna todos os itens; com "page" pagina os itens no tamanho "size"
     @GetMapping("/{id}")
-    public ResponseEntity<BankImportResponseDTO> getById(@PathVariable UUID id) {
+    public ResponseEntity<BankImportResponseDTO> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "100") int size,
+            @SortDefault(sort = "date", direction = Sort.Direction.ASC) Sort sort) {
+        UUID companyId = CompanyContextHolder.get();
+        Pageable pageable = page != null
+            ? PageRequest.of(page, Math.min(size, MAX_ITEMS_PAGE_SIZE), sort)
+            : Pageable.unpaged(sort);
+        return ResponseEntity.ok(bankImportService.getById(companyId, id, pageable));
+    }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<ImportProgressDTO> getProgress(@PathVariable UUID id) {
         UUID companyId = CompanyContextHolder.get();
-        return ResponseEntity.ok(bankImportService.getById(companyId, id));
+        return ResponseEntity.ok(bankImportService.getProgress(companyId, id));
     }
 
     @PatchMapping("/{id}/items/{itemId}")
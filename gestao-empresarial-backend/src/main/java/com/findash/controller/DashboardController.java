@@ -21,6 +21,15 @@ public class DashboardController {
         this.dashboardService = dashboardService;
     }
 
+    @GetMapping("/overview")
+    public ResponseEntity<DashboardOverviewDTO> getOverview(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UUID companyId = CompanyContextHolder.get();
+        LocalDate[] range = resolveRange(from, to);
+        return ResponseEntity.ok(dashboardService.getOverview(companyId, range[0], range[1]));
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<DashboardSummaryDTO> getSummary(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
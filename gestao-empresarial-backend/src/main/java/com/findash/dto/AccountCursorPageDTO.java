@@ -0,0 +1,9 @@
+package com.findash.dto;
+
+import java.util.List;
+
+public record AccountCursorPageDTO(
+    List<AccountResponseDTO> content,
+    String nextCursor,
+    Long totalElements
+) {}
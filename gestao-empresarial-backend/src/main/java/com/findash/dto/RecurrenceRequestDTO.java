@@ -7,5 +7,6 @@ public record RecurrenceRequestDTO(
     @NotBlank(message = "Frequencia e obrigatoria")
     String frequency,
     LocalDate endDate,
-    Integer maxOccurrences
+    Integer maxOccurrences,
+    Boolean lazy
 ) {}
@@ -10,6 +10,9 @@ public record BankImportResponseDTO(
     String fileType,
     String status,
     int totalRecords,
+    int page,
+    int size,
+    int totalPages,
     LocalDateTime createdAt,
     List<BankImportItemResponseDTO> items
 ) {}
@@ -0,0 +1,12 @@
+package com.findash.dto.bankimport;
+
+import java.util.UUID;
+
+public record ImportProgressDTO(
+    UUID importId,
+    String status,
+    int parsed,
+    int matched,
+    int persisted,
+    String errorMessage
+) {}
@@ -0,0 +1,10 @@
+package com.findash.dto.dashboard;
+
+import java.util.List;
+
+public record DashboardOverviewDTO(
+    DashboardSummaryDTO summary,
+    List<CashFlowPointDTO> cashFlow,
+    List<RevenueExpenseItemDTO> revenueExpense,
+    List<MonthlyEvolutionPointDTO> monthlyEvolution
+) {}
@@ -29,6 +29,9 @@ public class BankImport {
     @Column(name = "total_records", nullable = false)
     private int totalRecords;
 
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
     @Column(name = "imported_by")
     private UUID importedBy;
 
@@ -50,10 +53,12 @@ public class BankImport {
     public BankImportFileType getFileType() { return fileType; }
     public BankImportStatus getStatus() { return status; }
     public int getTotalRecords() { return totalRecords; }
+    public String getErrorMessage() { return errorMessage; }
     public UUID getImportedBy() { return importedBy; }
     public LocalDateTime getCreatedAt() { return createdAt; }
 
     public void setStatus(BankImportStatus status) { this.status = status; }
     public void setTotalRecords(int totalRecords) { this.totalRecords = totalRecords; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
     public void setId(UUID id) { this.id = id; }
 }
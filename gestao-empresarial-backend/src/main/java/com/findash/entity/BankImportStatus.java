@@ -1,5 +1,5 @@
 package com.findash.entity;
 
 public enum BankImportStatus {
-    PENDING_REVIEW, COMPLETED, CANCELLED
+    PROCESSING, PENDING_REVIEW, COMPLETED, CANCELLED, FAILED
 }
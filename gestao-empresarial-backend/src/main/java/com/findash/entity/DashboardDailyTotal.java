@@ -0,0 +1,52 @@
+package com.findash.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Somente leitura: mantida pelos triggers de financial_schema.accounts (V10)
+@Entity
+@Immutable
+@Table(name = "dashboard_daily_totals", schema = "financial_schema")
+public class DashboardDailyTotal {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AccountType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AccountStatus status;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(nullable = false, precision = 17, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private int entries;
+
+    protected DashboardDailyTotal() {}
+
+    public UUID getId() { return id; }
+    public UUID getCompanyId() { return companyId; }
+    public LocalDate getBucketDate() { return bucketDate; }
+    public AccountType getType() { return type; }
+    public AccountStatus getStatus() { return status; }
+    public UUID getCategoryId() { return categoryId; }
+    public BigDecimal getTotal() { return total; }
+    public int getEntries() { return entries; }
+}
@@ -24,6 +24,12 @@ public class Recurrence extends BaseEntity {
     @Column(name = "max_occurrences")
     private Integer maxOccurrences;
 
+    @Column(name = "next_due_date")
+    private LocalDate nextDueDate;
+
+    @Column(name = "generated_count", nullable = false)
+    private int generatedCount;
+
     protected Recurrence() {}
 
     public Recurrence(UUID companyId, RecurrenceFrequency frequency, LocalDate startDate) {
@@ -40,4 +46,8 @@ public class Recurrence extends BaseEntity {
     public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
     public Integer getMaxOccurrences() { return maxOccurrences; }
     public void setMaxOccurrences(Integer maxOccurrences) { this.maxOccurrences = maxOccurrences; }
+    public LocalDate getNextDueDate() { return nextDueDate; }
+    public void setNextDueDate(LocalDate nextDueDate) { this.nextDueDate = nextDueDate; }
+    public int getGeneratedCount() { return generatedCount; }
+    public void setGeneratedCount(int generatedCount) { this.generatedCount = generatedCount; }
 }
@@ -1,8 +1,19 @@
 package com.findash.entity;
 
+import java.time.LocalDate;
+
 public enum RecurrenceFrequency {
     MONTHLY,
     WEEKLY,
     BIWEEKLY,
-    YEARLY
+    YEARLY;
+
+    public LocalDate next(LocalDate date) {
+        return switch (this) {
+            case MONTHLY -> date.plusMonths(1);
+            case WEEKLY -> date.plusWeeks(1);
+            case BIWEEKLY -> date.plusWeeks(2);
+            case YEARLY -> date.plusYears(1);
+        };
+    }
 }
@@ -0,0 +1,29 @@
+package com.findash.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "scheduled_job_leases", schema = "financial_schema")
+public class ScheduledJobLease {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(name = "acquired_at", nullable = false)
+    private Instant acquiredAt;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+
+    protected ScheduledJobLease() {}
+
+    public String getJobName() { return jobName; }
+    public String getOwner() { return owner; }
+    public Instant getAcquiredAt() { return acquiredAt; }
+    public Instant getLeaseUntil() { return leaseUntil; }
+}
@@ -0,0 +1,57 @@
+package com.findash.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "scheduled_job_runs", schema = "financial_schema")
+public class ScheduledJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "job_name", nullable = false)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduledJobStatus status = ScheduledJobStatus.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt = Instant.now();
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "rows_affected")
+    private Long rowsAffected;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    protected ScheduledJobRun() {}
+
+    public ScheduledJobRun(String jobName, String owner) {
+        this.jobName = jobName;
+        this.owner = owner;
+    }
+
+    public UUID getId() { return id; }
+    public String getJobName() { return jobName; }
+    public String getOwner() { return owner; }
+    public ScheduledJobStatus getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Long getRowsAffected() { return rowsAffected; }
+    public String getErrorMessage() { return errorMessage; }
+
+    public void setStatus(ScheduledJobStatus status) { this.status = status; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public void setRowsAffected(Long rowsAffected) { this.rowsAffected = rowsAffected; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+}
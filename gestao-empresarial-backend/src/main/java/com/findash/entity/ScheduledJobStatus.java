@@ -0,0 +1,5 @@
+package com.findash.entity;
+
+public enum ScheduledJobStatus {
+    RUNNING, SUCCEEDED, FAILED, ABANDONED
+}
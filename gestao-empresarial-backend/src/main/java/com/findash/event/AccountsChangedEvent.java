@@ -0,0 +1,19 @@
+package com.findash.event;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Publicado quando contas de uma empresa mudam; [from, to] cobre os vencimentos afetados
+public record AccountsChangedEvent(UUID companyId, LocalDate from, LocalDate to) {
+
+    public static AccountsChangedEvent of(UUID companyId, LocalDate... dueDates) {
+        LocalDate from = null;
+        LocalDate to = null;
+        for (LocalDate date : dueDates) {
+            if (date == null) continue;
+            if (from == null || date.isBefore(from)) from = date;
+            if (to == null || date.isAfter(to)) to = date;
+        }
+        return new AccountsChangedEvent(companyId, from, to);
+    }
+}
@@ -0,0 +1,47 @@
+package com.findash.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Distribuicao de consultas SQL por requisicao, com as mesmas tags method/uri do http.server.requests.
+// Aponta endpoints com N+1 que o contador global do Hibernate nao mostra.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "findash.http.server.requests.queries";
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long queries = QueryCounter.stop();
+            // Padrao da rota (/api/accounts/{id}), nao a URL, para nao explodir a cardinalidade
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                .description("Comandos SQL emitidos pelo Hibernate por requisicao")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(queries);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.findash.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL que o Hibernate prepara na thread atual. So conta entre start() e stop(),
+// chamados pelo QueryCountFilter; jobs e workers fora de requisicao passam direto.
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        long[] count = COUNT.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    static long stop() {
+        long[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
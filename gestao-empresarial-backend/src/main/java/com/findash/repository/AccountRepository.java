@@ -1,86 +1,82 @@
 package com.findash.repository;
 
 import com.findash.entity.Account;
-import com.findash.entity.AccountStatus;
-import com.findash.entity.AccountType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import java.math.BigDecimal;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account> {
+public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account>,
+        AccountRepositoryCustom {
 
     Optional<Account> findByIdAndCompanyId(UUID id, UUID companyId);
 
     List<Account> findByIdInAndCompanyId(List<UUID> ids, UUID companyId);
 
+    Optional<Account> findFirstByRecurrenceIdOrderByDueDateDesc(UUID recurrenceId);
+
+    // Baixa em lote numa unica instrucao. Com RETURNING o UPDATE devolve linhas, entao roda
+    // como consulta (sem @Modifying) e precisa de transacao de escrita.
+    @Transactional
+    @Query(value = "UPDATE financial_schema.accounts SET " +
+                   "status = CASE WHEN type = 'PAYABLE' THEN 'PAID' ELSE 'RECEIVED' END, " +
+                   "payment_date = :paymentDate, updated_at = now() " +
+                   "WHERE company_id = :companyId AND id IN (:ids) " +
+                   "AND status NOT IN ('PAID', 'RECEIVED') " +
+                   "RETURNING id", nativeQuery = true)
+    List<UUID> settleUnpaid(@Param("companyId") UUID companyId,
+                            @Param("ids") Collection<UUID> ids,
+                            @Param("paymentDate") LocalDate paymentDate);
+
+    // Conta com categoria, fornecedor e cliente em uma consulta: [Account, Category, Supplier, Client]
+    @Query("SELECT a, c, s, cl FROM Account a " +
+           "LEFT JOIN Category c ON c.id = a.categoryId " +
+           "LEFT JOIN Supplier s ON s.id = a.supplierId " +
+           "LEFT JOIN Client cl ON cl.id = a.clientId " +
+           "WHERE a.id IN :ids " +
+           "ORDER BY a.dueDate, a.id")
+    List<Object[]> findWithRelationsByIdIn(@Param("ids") Collection<UUID> ids);
+
     boolean existsByCategoryId(UUID categoryId);
 
     boolean existsBySupplierId(UUID supplierId);
 
     boolean existsByClientId(UUID clientId);
 
-    boolean existsByCompanyIdAndDueDateAndAmountAndDescription(
-        UUID companyId, java.time.LocalDate dueDate,
-        java.math.BigDecimal amount, String description);
+    // Candidatos a duplicado de uma importacao: (dueDate, amount, description) no intervalo
+    @Query("SELECT a.dueDate, a.amount, a.description FROM Account a " +
+           "WHERE a.companyId = :companyId " +
+           "AND a.dueDate BETWEEN :from AND :to " +
+           "AND a.description IN :descriptions")
+    List<Object[]> findDuplicateCandidates(
+        @Param("companyId") UUID companyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("descriptions") Collection<String> descriptions);
 
     @Query("SELECT COUNT(a) > 0 FROM Account a WHERE a.categoryId IN " +
            "(SELECT c.id FROM Category c WHERE c.groupId = :groupId)")
     boolean existsByCategoryGroupId(@Param("groupId") UUID groupId);
 
-    @Modifying
-    @Query("UPDATE Account a SET a.status = :newStatus, a.updatedAt = CURRENT_TIMESTAMP " +
-           "WHERE a.status = :currentStatus AND a.dueDate < :today AND a.active = true")
-    int markOverdue(@Param("currentStatus") AccountStatus currentStatus,
-                    @Param("newStatus") AccountStatus newStatus,
-                    @Param("today") LocalDate today);
-
-    // --- Dashboard aggregation queries ---
-
-    @Query("SELECT COALESCE(SUM(a.amount), 0) FROM Account a " +
-           "WHERE a.companyId = :companyId AND a.type = :type " +
-           "AND a.status IN :statuses AND a.active = true " +
-           "AND a.dueDate BETWEEN :from AND :to")
-    BigDecimal sumByTypeAndStatuses(
-        @Param("companyId") UUID companyId,
-        @Param("type") AccountType type,
-        @Param("statuses") List<AccountStatus> statuses,
-        @Param("from") LocalDate from,
-        @Param("to") LocalDate to);
-
-    @Query("SELECT FUNCTION('TO_CHAR', a.dueDate, 'YYYY-MM') as month, " +
-           "a.type as type, COALESCE(SUM(a.amount), 0) as total " +
-           "FROM Account a " +
-           "WHERE a.companyId = :companyId AND a.active = true " +
-           "AND a.dueDate BETWEEN :from AND :to " +
-           "AND a.status IN :statuses " +
-           "GROUP BY FUNCTION('TO_CHAR', a.dueDate, 'YYYY-MM'), a.type " +
-           "ORDER BY FUNCTION('TO_CHAR', a.dueDate, 'YYYY-MM')")
-    List<Object[]> findMonthlyTotalsByType(
-        @Param("companyId") UUID companyId,
-        @Param("statuses") List<AccountStatus> statuses,
-        @Param("from") LocalDate from,
-        @Param("to") LocalDate to);
-
-    @Query("SELECT c.name as categoryName, g.name as groupName, " +
-           "a.type as type, COALESCE(SUM(a.amount), 0) as total " +
-           "FROM Account a " +
-           "JOIN Category c ON c.id = a.categoryId " +
-           "JOIN CategoryGroup g ON g.id = c.groupId " +
-           "WHERE a.companyId = :companyId AND a.active = true " +
-           "AND a.dueDate BETWEEN :from AND :to " +
-           "AND a.status IN :statuses " +
-           "GROUP BY c.name, g.name, a.type " +
-           "ORDER BY total DESC")
-    List<Object[]> findRevenueExpenseByCategory(
-        @Param("companyId") UUID companyId,
-        @Param("statuses") List<AccountStatus> statuses,
-        @Param("from") LocalDate from,
-        @Param("to") LocalDate to);
+    // Marca ate :limit contas vencidas como OVERDUE e devolve [companyId, menor vencimento,
+    // maior vencimento, quantidade] por empresa. Os literais de status batem com o predicado do
+    // indice parcial idx_account_pending_due_date; SKIP LOCKED nao espera linhas em edicao.
+    @Transactional
+    @Query(value = "WITH batch AS (" +
+                   "SELECT id FROM financial_schema.accounts " +
+                   "WHERE status = 'PENDING' AND active AND due_date < :today " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED), " +
+                   "updated AS (" +
+                   "UPDATE financial_schema.accounts a SET status = 'OVERDUE', updated_at = now() " +
+                   "FROM batch WHERE a.id = batch.id " +
+                   "RETURNING a.company_id, a.due_date) " +
+                   "SELECT company_id, MIN(due_date), MAX(due_date), COUNT(*) FROM updated GROUP BY company_id",
+           nativeQuery = true)
+    List<Object[]> markOverdueChunk(@Param("today") LocalDate today, @Param("limit") int limit);
 }
@@ -0,0 +1,13 @@
+package com.findash.repository;
+
+import com.findash.entity.Account;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.stream.Stream;
+
+public interface AccountRepositoryCustom {
+
+    // Cursor forward-only com fetch size: as linhas chegam aos poucos e cada conta sai desanexada
+    // do contexto de persistencia. Precisa de transacao aberta e o stream deve ser fechado.
+    Stream<Account> streamAll(Specification<Account> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,46 @@
+package com.findash.repository;
+
+import com.findash.entity.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.stream.Stream;
+
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public AccountRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<Account> streamAll(Specification<Account> spec, Sort sort, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Account> query = cb.createQuery(Account.class);
+        Root<Account> root = query.from(Account.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        // getResultStream usa ScrollMode.FORWARD_ONLY; o driver do Postgres so abre cursor
+        // com fetch size dentro de transacao (autocommit desligado)
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(account -> {
+                entityManager.detach(account);
+                return account;
+            });
+    }
+}
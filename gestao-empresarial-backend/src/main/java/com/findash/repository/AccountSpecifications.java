@@ -3,9 +3,14 @@ package com.findash.repository;
 import com.findash.entity.Account;
 import com.findash.entity.AccountStatus;
 import com.findash.entity.AccountType;
+import jakarta.persistence.criteria.Order;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 public final class AccountSpecifications {
@@ -48,7 +53,44 @@ public final class AccountSpecifications {
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
     }
 
+    // Continua depois de (dueDate, id) na ordem dueDate, id. O ">=" redundante limita o inicio
+    // do range scan no indice; so o OR nao e aproveitado pelo planner.
+    public static Specification<Account> after(LocalDate dueDate, UUID id) {
+        return (root, query, cb) -> cb.and(
+            cb.greaterThanOrEqualTo(root.get("dueDate"), dueDate),
+            cb.or(
+                cb.greaterThan(root.get("dueDate"), dueDate),
+                cb.greaterThan(root.<UUID>get("id"), id)));
+    }
+
+    // lower(description) LIKE '%x%' usa o indice GIN de trigramas (V15) a partir de 3 caracteres.
+    // Curingas digitados pelo usuario sao escapados para nao virarem padrao.
     public static Specification<Account> descriptionContains(String search) {
-        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), "%" + search.toLowerCase() + "%");
+        String pattern = "%" + escapeLike(normalize(search)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, '\\');
+    }
+
+    // Ordena por word_similarity do pg_trgm: descricoes em que o termo e uma palavra inteira vem antes.
+    // Nao filtra nada e nao se aplica na consulta de contagem.
+    public static Specification<Account> orderByRelevance(String search, Sort tieBreak) {
+        String term = normalize(search);
+        return (root, query, cb) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                List<Order> orders = new ArrayList<>();
+                orders.add(cb.desc(cb.function("word_similarity", Double.class,
+                    cb.literal(term), cb.lower(root.get("description")))));
+                orders.addAll(QueryUtils.toOrders(tieBreak, root, cb));
+                query.orderBy(orders);
+            }
+            return null;
+        };
+    }
+
+    private static String normalize(String search) {
+        return search.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
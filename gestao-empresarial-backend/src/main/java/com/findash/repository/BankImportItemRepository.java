@@ -1,12 +1,27 @@
 package com.findash.repository;
 
 import com.findash.entity.BankImportItem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BankImportItemRepository extends JpaRepository<BankImportItem, UUID> {
     List<BankImportItem> findByImportId(UUID importId);
+    Page<BankImportItem> findByImportId(UUID importId, Pageable pageable);
     Optional<BankImportItem> findByIdAndImportId(UUID id, UUID importId);
+    long countByImportIdAndSupplierIdIsNotNull(UUID importId);
+
+    @Modifying
+    @Query("DELETE FROM BankImportItem i WHERE i.importId = :importId")
+    int deleteByImportId(UUID importId);
+
+    @Modifying
+    @Query("DELETE FROM BankImportItem i WHERE i.importId IN :importIds")
+    int deleteByImportIdIn(Collection<UUID> importIds);
 }
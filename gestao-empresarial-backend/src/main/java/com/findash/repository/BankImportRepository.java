@@ -2,6 +2,10 @@ package com.findash.repository;
 
 import com.findash.entity.BankImport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,4 +13,21 @@ import java.util.UUID;
 public interface BankImportRepository extends JpaRepository<BankImport, UUID> {
     List<BankImport> findByCompanyIdOrderByCreatedAtDesc(UUID companyId);
     Optional<BankImport> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    // Heartbeat do worker; 0 quando a importacao ja saiu de PROCESSING (ex.: varrida como presa)
+    @Modifying
+    @Query(value = "UPDATE financial_schema.bank_imports SET updated_at = now() " +
+                   "WHERE id = :id AND status = 'PROCESSING'",
+           nativeQuery = true)
+    int touchProcessing(@Param("id") UUID id);
+
+    // Marca como FAILED as importacoes em PROCESSING sem heartbeat ha mais de :seconds e devolve
+    // seus ids. O literal de status bate com o predicado de idx_bank_import_processing_updated_at.
+    @Transactional
+    @Query(value = "UPDATE financial_schema.bank_imports " +
+                   "SET status = 'FAILED', error_message = :message, updated_at = now() " +
+                   "WHERE status = 'PROCESSING' AND updated_at < now() - :seconds * INTERVAL '1 second' " +
+                   "RETURNING id",
+           nativeQuery = true)
+    List<UUID> failStaleProcessing(@Param("seconds") long seconds, @Param("message") String message);
 }
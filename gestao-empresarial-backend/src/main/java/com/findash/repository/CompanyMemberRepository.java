@@ -3,14 +3,21 @@ package com.findash.repository;
 import com.findash.entity.CompanyMember;
 import com.findash.entity.MemberStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CompanyMemberRepository extends JpaRepository<CompanyMember, UUID> {
-    List<CompanyMember> findByCompanyIdAndStatusNot(UUID companyId, MemberStatus status);
     Optional<CompanyMember> findByCompanyIdAndUserId(UUID companyId, UUID userId);
     boolean existsByCompanyIdAndInvitedEmailAndStatusIn(UUID companyId, String email, List<MemberStatus> statuses);
     List<CompanyMember> findByInvitedEmailAndStatus(String email, MemberStatus status);
+
+    // Membros com nome, email e role do usuario: [CompanyMember, name, email, Role]
+    @Query("SELECT cm, u.name, u.email, ur.role FROM CompanyMember cm " +
+           "LEFT JOIN User u ON u.id = cm.userId " +
+           "LEFT JOIN UserRole ur ON ur.userId = cm.userId AND ur.companyId = cm.companyId " +
+           "WHERE cm.companyId = :companyId AND cm.status <> :status")
+    List<Object[]> findWithUserAndRoleByCompanyIdAndStatusNot(UUID companyId, MemberStatus status);
 }
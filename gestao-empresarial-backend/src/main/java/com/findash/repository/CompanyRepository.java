@@ -11,7 +11,11 @@ import java.util.UUID;
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
     boolean existsByCnpj(String cnpj);
 
-    @Query("SELECT c FROM Company c WHERE c.id IN " +
+    // Empresas do usuario com o role dele e o nome do proprietario: [Company, Role, ownerName]
+    @Query("SELECT c, ur.role, owner.name FROM Company c " +
+           "LEFT JOIN UserRole ur ON ur.companyId = c.id AND ur.userId = :userId " +
+           "LEFT JOIN User owner ON owner.id = c.ownerId " +
+           "WHERE c.id IN " +
            "(SELECT cm.companyId FROM CompanyMember cm WHERE cm.userId = :userId AND cm.status = :status)")
-    List<Company> findByMemberUserIdAndStatus(UUID userId, MemberStatus status);
+    List<Object[]> findWithRoleAndOwnerByMemberUserIdAndStatus(UUID userId, MemberStatus status);
 }
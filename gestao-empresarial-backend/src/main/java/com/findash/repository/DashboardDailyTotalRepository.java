@@ -0,0 +1,98 @@
+package com.findash.repository;
+
+import com.findash.entity.AccountStatus;
+import com.findash.entity.DashboardDailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DashboardDailyTotalRepository extends JpaRepository<DashboardDailyTotal, UUID> {
+
+    // --- Dashboard aggregation queries ---
+
+    // Os quatro totais do resumo em uma unica passada: [aPagar, aReceber, receita, despesa]
+    @Query("SELECT " +
+           "COALESCE(SUM(CASE WHEN t.type = com.findash.entity.AccountType.PAYABLE " +
+           "AND t.status IN (com.findash.entity.AccountStatus.PENDING, com.findash.entity.AccountStatus.OVERDUE) " +
+           "THEN t.total ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.type = com.findash.entity.AccountType.RECEIVABLE " +
+           "AND t.status = com.findash.entity.AccountStatus.PENDING " +
+           "THEN t.total ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.type = com.findash.entity.AccountType.RECEIVABLE " +
+           "AND t.status = com.findash.entity.AccountStatus.RECEIVED " +
+           "THEN t.total ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN t.type = com.findash.entity.AccountType.PAYABLE " +
+           "AND t.status = com.findash.entity.AccountStatus.PAID " +
+           "THEN t.total ELSE 0 END), 0) " +
+           "FROM DashboardDailyTotal t " +
+           "WHERE t.companyId = :companyId " +
+           "AND t.bucketDate BETWEEN :from AND :to")
+    List<Object[]> findSummaryTotals(
+        @Param("companyId") UUID companyId,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+
+    @Query("SELECT FUNCTION('TO_CHAR', t.bucketDate, 'YYYY-MM') as month, " +
+           "t.type as type, COALESCE(SUM(t.total), 0) as total " +
+           "FROM DashboardDailyTotal t " +
+           "WHERE t.companyId = :companyId " +
+           "AND t.bucketDate BETWEEN :from AND :to " +
+           "AND t.status IN :statuses " +
+           "GROUP BY FUNCTION('TO_CHAR', t.bucketDate, 'YYYY-MM'), t.type " +
+           "HAVING SUM(t.entries) > 0 " +
+           "ORDER BY FUNCTION('TO_CHAR', t.bucketDate, 'YYYY-MM')")
+    List<Object[]> findMonthlyTotalsByType(
+        @Param("companyId") UUID companyId,
+        @Param("statuses") List<AccountStatus> statuses,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+
+    @Query("SELECT c.name as categoryName, g.name as groupName, " +
+           "t.type as type, COALESCE(SUM(t.total), 0) as total " +
+           "FROM DashboardDailyTotal t " +
+           "JOIN Category c ON c.id = t.categoryId " +
+           "JOIN CategoryGroup g ON g.id = c.groupId " +
+           "WHERE t.companyId = :companyId " +
+           "AND t.bucketDate BETWEEN :from AND :to " +
+           "AND t.status IN :statuses " +
+           "GROUP BY c.name, g.name, t.type " +
+           "HAVING SUM(t.entries) > 0 " +
+           "ORDER BY total DESC")
+    List<Object[]> findRevenueExpenseByCategory(
+        @Param("companyId") UUID companyId,
+        @Param("statuses") List<AccountStatus> statuses,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to);
+
+    // --- Rebuild ---
+
+    // Bloqueia os triggers de accounts ate o commit do rebuild para nenhum delta se perder
+    @Modifying
+    @Query(value = "LOCK TABLE financial_schema.dashboard_daily_totals IN SHARE ROW EXCLUSIVE MODE",
+           nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM financial_schema.dashboard_daily_totals WHERE company_id = :companyId",
+           nativeQuery = true)
+    int deleteByCompanyId(@Param("companyId") UUID companyId);
+
+    @Modifying
+    @Query(value = "INSERT INTO financial_schema.dashboard_daily_totals " +
+                   "(company_id, bucket_date, type, status, category_id, total, entries) " +
+                   "SELECT company_id, due_date, type, status, category_id, SUM(amount), COUNT(*) " +
+                   "FROM financial_schema.accounts " +
+                   "WHERE company_id = :companyId AND active " +
+                   "GROUP BY company_id, due_date, type, status, category_id",
+           nativeQuery = true)
+    int rebuildForCompany(@Param("companyId") UUID companyId);
+
+    @Query(value = "SELECT DISTINCT company_id FROM financial_schema.accounts " +
+                   "UNION SELECT DISTINCT company_id FROM financial_schema.dashboard_daily_totals",
+           nativeQuery = true)
+    List<UUID> findCompanyIdsToRebuild();
+}
@@ -1,8 +1,13 @@
 package com.findash.repository;
 
 import com.findash.entity.Recurrence;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 public interface RecurrenceRepository extends JpaRepository<Recurrence, UUID> {
+
+    List<Recurrence> findByNextDueDateLessThanEqualOrderByNextDueDate(LocalDate horizon, Pageable pageable);
 }
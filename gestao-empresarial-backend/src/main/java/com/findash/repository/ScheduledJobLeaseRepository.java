@@ -0,0 +1,50 @@
+package com.findash.repository;
+
+import com.findash.entity.ScheduledJobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ScheduledJobLeaseRepository extends JpaRepository<ScheduledJobLease, String> {
+
+    // 1 se o lease foi obtido: nao existia, expirou ou ja era deste dono
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO financial_schema.scheduled_job_leases (job_name, owner, acquired_at, lease_until) " +
+                   "VALUES (:jobName, :owner, now(), now() + :seconds * INTERVAL '1 second') " +
+                   "ON CONFLICT (job_name) DO UPDATE SET owner = EXCLUDED.owner, " +
+                   "acquired_at = EXCLUDED.acquired_at, lease_until = EXCLUDED.lease_until " +
+                   "WHERE scheduled_job_leases.lease_until < now() " +
+                   "OR scheduled_job_leases.owner = EXCLUDED.owner",
+           nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // 0 quando o lease ja foi tomado por outro no
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE financial_schema.scheduled_job_leases " +
+                   "SET lease_until = now() + :seconds * INTERVAL '1 second' " +
+                   "WHERE job_name = :jobName AND owner = :owner",
+           nativeQuery = true)
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // Retem o lease por :seconds contados no relogio do banco, como os demais metodos, para uma
+    // replica que dispara atrasada nao repetir o mesmo horario
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE financial_schema.scheduled_job_leases " +
+                   "SET lease_until = GREATEST(lease_until, now() + :seconds * INTERVAL '1 second') " +
+                   "WHERE job_name = :jobName AND owner = :owner",
+           nativeQuery = true)
+    int holdFor(@Param("jobName") String jobName, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // Libera para nova tentativa; usado so quando o job falha
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE financial_schema.scheduled_job_leases SET lease_until = now() " +
+                   "WHERE job_name = :jobName AND owner = :owner",
+           nativeQuery = true)
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
@@ -0,0 +1,30 @@
+package com.findash.repository;
+
+import com.findash.entity.ScheduledJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScheduledJobRunRepository extends JpaRepository<ScheduledJobRun, UUID> {
+
+    // Execucoes RUNNING cujo dono perdeu o lease (expirou ou outro no assumiu): o no morreu no meio
+    @Query("SELECT r FROM ScheduledJobRun r WHERE r.status = com.findash.entity.ScheduledJobStatus.RUNNING " +
+           "AND EXISTS (SELECT l FROM ScheduledJobLease l WHERE l.jobName = r.jobName " +
+           "AND (l.leaseUntil < CURRENT_TIMESTAMP OR l.owner <> r.owner))")
+    List<ScheduledJobRun> findAbandoned();
+
+    // Ja houve execucao bem-sucedida nos ultimos :seconds (relogio do banco): o horario atual ja rodou
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM financial_schema.scheduled_job_runs " +
+                   "WHERE job_name = :jobName AND status = 'SUCCEEDED' " +
+                   "AND started_at > now() - :seconds * INTERVAL '1 second')",
+           nativeQuery = true)
+    boolean existsSucceededWithin(@Param("jobName") String jobName, @Param("seconds") long seconds);
+
+    @Query(value = "SELECT COUNT(*) FROM financial_schema.scheduled_job_runs " +
+                   "WHERE job_name = :jobName AND status = 'ABANDONED' " +
+                   "AND started_at > now() - :seconds * INTERVAL '1 second'",
+           nativeQuery = true)
+    long countAbandonedWithin(@Param("jobName") String jobName, @Param("seconds") long seconds);
+}
@@ -0,0 +1,10 @@
+package com.findash.repository;
+
+import com.findash.entity.SupplierMatchRule;
+import java.util.Collection;
+
+public interface SupplierMatchRuleRepositoryCustom {
+
+    // INSERT ... ON CONFLICT (company_id, pattern) em lote; regras existentes recebem o novo fornecedor/categoria
+    void upsertAll(Collection<SupplierMatchRule> rules);
+}
@@ -0,0 +1,46 @@
+package com.findash.repository;
+
+import com.findash.entity.SupplierMatchRule;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SupplierMatchRuleRepositoryImpl implements SupplierMatchRuleRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO financial_schema.supplier_match_rules (company_id, pattern, supplier_id, category_id) " +
+        "VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (company_id, pattern) DO UPDATE " +
+        "SET supplier_id = EXCLUDED.supplier_id, category_id = EXCLUDED.category_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SupplierMatchRuleRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertAll(Collection<SupplierMatchRule> rules) {
+        if (rules.isEmpty()) return;
+
+        // Um mesmo (empresa, padrao) so pode aparecer uma vez por comando; prevalece o ultimo
+        Map<String, SupplierMatchRule> unique = new LinkedHashMap<>();
+        for (SupplierMatchRule rule : rules) {
+            unique.put(rule.getCompanyId() + "|" + rule.getPattern(), rule);
+        }
+
+        List<SupplierMatchRule> batch = List.copyOf(unique.values());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, BATCH_SIZE, (ps, rule) -> {
+            ps.setObject(1, rule.getCompanyId());
+            ps.setString(2, rule.getPattern());
+            ps.setObject(3, rule.getSupplierId());
+            ps.setObject(4, rule.getCategoryId(), Types.OTHER);
+        });
+    }
+}
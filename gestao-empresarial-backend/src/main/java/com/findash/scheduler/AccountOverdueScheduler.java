@@ -1,36 +1,109 @@
 package com.findash.scheduler;
 
-import com.findash.entity.AccountStatus;
+import com.findash.event.AccountsChangedEvent;
 import com.findash.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class AccountOverdueScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(AccountOverdueScheduler.class);
 
+    static final String JOB_NAME = "account-overdue";
+    static final String CRON = "0 30 0 * * *";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    public record OverdueRun(Instant startedAt, Duration duration, int chunks, long updated) {}
+
+    // Totais acumulados das execucoes feitas neste no, exportados como contadores
+    public record OverdueStats(long runs, long chunks, long updated) {}
+
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduledJobRunner jobRunner;
+    private final int chunkSize;
+
+    private volatile OverdueRun lastRun;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong chunksTotal = new AtomicLong();
+    private final AtomicLong updatedTotal = new AtomicLong();
 
-    public AccountOverdueScheduler(AccountRepository accountRepository) {
+    public AccountOverdueScheduler(AccountRepository accountRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ScheduledJobRunner jobRunner,
+                                   @Value("${app.overdue.chunk-size:1000}") int chunkSize) {
         this.accountRepository = accountRepository;
+        this.eventPublisher = eventPublisher;
+        this.jobRunner = jobRunner;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB_NAME, LEASE, CRON, this::markOverdueAccounts);
+    }
+
+    // Dispara em todas as replicas; so o no com o lease executa
+    @Scheduled(cron = CRON)
+    public void scheduledRun() {
+        jobRunner.run(JOB_NAME);
     }
 
-    @Scheduled(cron = "0 30 0 * * *")
-    @Transactional
-    public void markOverdueAccounts() {
-        int updated = accountRepository.markOverdue(
-            AccountStatus.PENDING,
-            AccountStatus.OVERDUE,
-            LocalDate.now()
-        );
-        if (updated > 0) {
-            log.info("Marked {} accounts as OVERDUE", updated);
+    // Cada lote e uma transacao curta. Contas ja marcadas saem do filtro, entao uma execucao
+    // interrompida continua de onde parou na proxima.
+    public long markOverdueAccounts() {
+        LocalDate today = LocalDate.now();
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        int chunks = 0;
+        long updated = 0;
+
+        while (true) {
+            List<Object[]> affected = accountRepository.markOverdueChunk(today, chunkSize);
+            long chunkRows = 0;
+            for (Object[] row : affected) {
+                chunkRows += ((Number) row[3]).longValue();
+                eventPublisher.publishEvent(
+                    new AccountsChangedEvent((UUID) row[0], toLocalDate(row[1]), toLocalDate(row[2])));
+            }
+            if (chunkRows == 0) break;
+            chunks++;
+            updated += chunkRows;
+            if (chunkRows < chunkSize) break;
         }
+
+        lastRun = new OverdueRun(startedAt, Duration.ofNanos(System.nanoTime() - start), chunks, updated);
+        runs.incrementAndGet();
+        chunksTotal.addAndGet(chunks);
+        updatedTotal.addAndGet(updated);
+        log.info("Overdue run: marked {} accounts as OVERDUE in {} chunks ({} ms)",
+            updated, chunks, lastRun.duration().toMillis());
+        return updated;
+    }
+
+    public OverdueRun lastRun() {
+        return lastRun;
+    }
+
+    public OverdueStats stats() {
+        return new OverdueStats(runs.get(), chunksTotal.get(), updatedTotal.get());
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
     }
 }
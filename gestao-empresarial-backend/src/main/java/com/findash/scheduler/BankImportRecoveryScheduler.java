@@ -0,0 +1,53 @@
+package com.findash.scheduler;
+
+import com.findash.service.BankImportService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Importacoes assincronas cujo no caiu durante o processamento ficam em PROCESSING sem heartbeat;
+// esta varredura as marca como FAILED para o usuario poder reenviar o arquivo
+@Component
+public class BankImportRecoveryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(BankImportRecoveryScheduler.class);
+
+    static final String JOB_NAME = "bank-import-recovery";
+    static final String CRON = "0 */5 * * * *";
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    private final BankImportService bankImportService;
+    private final ScheduledJobRunner jobRunner;
+    private final Duration staleTimeout;
+
+    public BankImportRecoveryScheduler(BankImportService bankImportService,
+                                       ScheduledJobRunner jobRunner,
+                                       @Value("${app.import.stale-timeout:PT15M}") Duration staleTimeout) {
+        this.bankImportService = bankImportService;
+        this.jobRunner = jobRunner;
+        this.staleTimeout = staleTimeout;
+    }
+
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB_NAME, LEASE, CRON, this::failStaleImports);
+    }
+
+    @Scheduled(cron = CRON)
+    public void scheduledRun() {
+        jobRunner.run(JOB_NAME);
+    }
+
+    public long failStaleImports() {
+        int failed = bankImportService.failStaleImports(staleTimeout);
+        if (failed > 0) {
+            log.warn("Marked {} bank imports stuck in PROCESSING for over {} as FAILED", failed, staleTimeout);
+        }
+        return failed;
+    }
+}
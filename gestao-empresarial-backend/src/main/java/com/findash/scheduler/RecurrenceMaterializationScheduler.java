@@ -0,0 +1,54 @@
+package com.findash.scheduler;
+
+import com.findash.service.recurrence.RecurrenceMaterializer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class RecurrenceMaterializationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurrenceMaterializationScheduler.class);
+    private static final int BATCH_SIZE = 100;
+    static final String JOB_NAME = "recurrence-materialization";
+    static final String CRON = "0 15 0 * * *";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final RecurrenceMaterializer materializer;
+    private final ScheduledJobRunner jobRunner;
+
+    public RecurrenceMaterializationScheduler(RecurrenceMaterializer materializer,
+                                              ScheduledJobRunner jobRunner) {
+        this.materializer = materializer;
+        this.jobRunner = jobRunner;
+    }
+
+    @PostConstruct
+    void registerJob() {
+        jobRunner.register(JOB_NAME, LEASE, CRON, this::materializeRecurrences);
+    }
+
+    // Roda antes do job de vencidas
+    @Scheduled(cron = CRON)
+    public void scheduledRun() {
+        jobRunner.run(JOB_NAME);
+    }
+
+    // Cada lote e uma transacao
+    public long materializeRecurrences() {
+        int total = 0;
+        int processed;
+        do {
+            processed = materializer.materializeNextBatch(BATCH_SIZE);
+            total += processed;
+        } while (processed == BATCH_SIZE);
+        if (total > 0) {
+            log.info("Materialized occurrences for {} recurrences", total);
+        }
+        return total;
+    }
+}
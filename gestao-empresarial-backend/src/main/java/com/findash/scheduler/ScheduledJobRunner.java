@@ -0,0 +1,188 @@
+package com.findash.scheduler;
+
+import com.findash.entity.ScheduledJobRun;
+import com.findash.entity.ScheduledJobStatus;
+import com.findash.repository.ScheduledJobLeaseRepository;
+import com.findash.repository.ScheduledJobRunRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Garante que cada job agendado rode em um unico no: o @Scheduled dispara em todas as replicas,
+// mas so quem obtem o lease no banco executa. O lease e renovado enquanto o job roda e cada
+// execucao fica registrada em scheduled_job_runs. O que impede repetir um horario e o historico:
+// um sucesso na janela do horario (metade do intervalo do cron) faz o disparo ser ignorado.
+// Todos os tempos sao do relogio do banco; o relogio de cada replica so decide quando o cron dispara.
+@Component
+public class ScheduledJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledJobRunner.class);
+
+    // Timer por job (tag "job"), so das execucoes em que este no obteve o lease
+    private static final String OBSERVATION_NAME = "findash.scheduler.job";
+
+    // Execucoes abandonadas aceitas por horario antes de desistir: um job que derruba o no (OOM)
+    // nao fica circulando entre as replicas
+    static final int MAX_ABANDONED_PER_SLOT = 3;
+
+    private record Job(Duration lease, Duration slotWindow, LongSupplier task) {}
+
+    private final ScheduledJobLeaseRepository leaseRepository;
+    private final ScheduledJobRunRepository runRepository;
+    private final ObservationRegistry observationRegistry;
+    private final String owner;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScheduledJobRunner(ScheduledJobLeaseRepository leaseRepository,
+                              ScheduledJobRunRepository runRepository,
+                              ObservationRegistry observationRegistry,
+                              @Value("${app.scheduler.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.runRepository = runRepository;
+        this.observationRegistry = observationRegistry;
+        // pid@host mais um sufixo: um no reiniciado nao herda o lease da instancia anterior
+        String base = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.owner = base + "#" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    // Registrado na inicializacao de cada scheduler, para que qualquer no consiga retomar o job.
+    // O cron e o mesmo do @Scheduled e define a janela de cada horario.
+    public void register(String jobName, Duration lease, String cron, LongSupplier task) {
+        jobs.put(jobName, new Job(lease, slotWindow(CronExpression.parse(cron), lease), task));
+    }
+
+    // Executa o job se este no obtiver o lease; false quando outro no ja esta com ele.
+    // O task retorna a quantidade de linhas afetadas, gravada no historico.
+    public boolean run(String jobName) {
+        Job job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalStateException("Job nao registrado: " + jobName);
+        }
+        Duration lease = job.lease();
+        if (leaseRepository.tryAcquire(jobName, owner, lease.toSeconds()) == 0) {
+            log.debug("Job {} skipped: lease held by another node", jobName);
+            return false;
+        }
+        long slotSeconds = job.slotWindow().toSeconds();
+        if (runRepository.existsSucceededWithin(jobName, slotSeconds)) {
+            log.debug("Job {} skipped: already succeeded in this slot", jobName);
+            return false;
+        }
+
+        boolean succeeded = false;
+        ScheduledJobRun run = runRepository.save(new ScheduledJobRun(jobName, owner));
+        long renewEvery = Math.max(1, lease.toSeconds() / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+            () -> renew(jobName, lease), renewEvery, renewEvery, TimeUnit.SECONDS);
+        try {
+            long rows = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("job", jobName)
+                .observe(() -> job.task().getAsLong());
+            run.setRowsAffected(rows);
+            run.setStatus(ScheduledJobStatus.SUCCEEDED);
+            succeeded = true;
+            return true;
+        } catch (RuntimeException e) {
+            run.setStatus(ScheduledJobStatus.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            log.error("Job {} failed", jobName, e);
+            return true;
+        } finally {
+            renewal.cancel(false);
+            run.setFinishedAt(Instant.now());
+            runRepository.save(run);
+            if (succeeded) {
+                leaseRepository.holdFor(jobName, owner, slotSeconds);
+            } else {
+                leaseRepository.release(jobName, owner);
+            }
+        }
+    }
+
+    // Execucoes interrompidas por queda de um no sao marcadas ABANDONED e o job roda de novo
+    // aqui; os jobs sao idempotentes e retomam de onde pararam. Depois de MAX_ABANDONED_PER_SLOT
+    // quedas na janela do horario, fica para o proximo disparo do cron.
+    @Scheduled(fixedDelayString = "${app.scheduler.recovery-interval:PT1M}")
+    public void recoverAbandonedRuns() {
+        for (ScheduledJobRun abandoned : runRepository.findAbandoned()) {
+            abandoned.setStatus(ScheduledJobStatus.ABANDONED);
+            abandoned.setFinishedAt(Instant.now());
+            runRepository.save(abandoned);
+            log.warn("Job {} run {} by {} was abandoned", abandoned.getJobName(), abandoned.getId(), abandoned.getOwner());
+
+            String jobName = abandoned.getJobName();
+            Job job = jobs.get(jobName);
+            if (job == null) continue;
+            long abandonedInSlot = runRepository.countAbandonedWithin(jobName, job.slotWindow().toSeconds());
+            if (abandonedInSlot >= MAX_ABANDONED_PER_SLOT) {
+                log.error("Job {} was abandoned {} times in this slot; not retrying until the next scheduled run",
+                    jobName, abandonedInSlot);
+                continue;
+            }
+            run(jobName);
+        }
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewals.shutdownNow();
+    }
+
+    private void renew(String jobName, Duration lease) {
+        try {
+            if (leaseRepository.renew(jobName, owner, lease.toSeconds()) == 0) {
+                log.warn("Job {} lost its lease while running", jobName);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Job {} lease renewal failed", jobName, e);
+        }
+    }
+
+    // Metade do menor intervalo entre disparos: cobre disparos atrasados do mesmo horario sem
+    // alcancar o proximo, mesmo com relogios das replicas um pouco fora do banco
+    static Duration slotWindow(CronExpression cron, Duration fallback) {
+        ZonedDateTime previous = cron.next(ZonedDateTime.now());
+        Duration min = null;
+        for (int i = 0; i < 24 && previous != null; i++) {
+            ZonedDateTime next = cron.next(previous);
+            if (next == null) break;
+            Duration gap = Duration.between(previous, next);
+            if (min == null || gap.compareTo(min) < 0) min = gap;
+            previous = next;
+        }
+        return min != null ? min.dividedBy(2) : fallback;
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -1,27 +1,80 @@
 package com.findash.security;
 
+import com.findash.entity.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 public class CompanyContextFilter extends OncePerRequestFilter {
 
+    private final CompanyMembershipCache membershipCache;
+
+    public CompanyContextFilter(CompanyMembershipCache membershipCache) {
+        this.membershipCache = membershipCache;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String companyIdHeader = request.getHeader("X-Company-Id");
-            if (companyIdHeader != null && !companyIdHeader.isBlank()) {
-                CompanyContextHolder.set(UUID.fromString(companyIdHeader));
+            UUID userId = currentUserId();
+            if (companyIdHeader != null && !companyIdHeader.isBlank() && userId != null
+                    && !ignoresCompanyHeader(request)) {
+                UUID companyId;
+                try {
+                    companyId = UUID.fromString(companyIdHeader.trim());
+                } catch (IllegalArgumentException e) {
+                    writeError(response, HttpStatus.BAD_REQUEST, "X-Company-Id invalido");
+                    return;
+                }
+
+                // Valida a empresa uma vez por requisicao; os services confiam no contexto
+                Optional<Role> role = membershipCache.resolve(userId, companyId);
+                if (role.isEmpty()) {
+                    writeError(response, HttpStatus.FORBIDDEN, "Usuario nao e membro desta empresa");
+                    return;
+                }
+                CompanyContextHolder.set(companyId);
+                CompanyContextHolder.setRole(role.get());
             }
             filterChain.doFilter(request, response);
         } finally {
             CompanyContextHolder.clear();
         }
     }
+
+    // Auth e /api/companies recebem a empresa pelo path e validam por conta propria; o front manda
+    // o header da empresa selecionada em tudo, e um header antigo nao pode impedir a troca de empresa
+    private boolean ignoresCompanyHeader(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/api/auth/") || path.equals("/api/companies") || path.startsWith("/api/companies/");
+    }
+
+    private UUID currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserContext userCtx) {
+            return userCtx.userId();
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":" + status.value() + ",\"message\":\"" + message
+            + "\",\"errors\":[],\"timestamp\":\"" + Instant.now() + "\"}");
+    }
 }
@@ -1,14 +1,25 @@
 package com.findash.security;
 
+import com.findash.entity.Role;
+
 import java.util.UUID;
 
 public final class CompanyContextHolder {
 
     private static final ThreadLocal<UUID> COMPANY_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Role> ROLE = new ThreadLocal<>();
 
     private CompanyContextHolder() {}
 
     public static void set(UUID companyId) { COMPANY_ID.set(companyId); }
     public static UUID get() { return COMPANY_ID.get(); }
-    public static void clear() { COMPANY_ID.remove(); }
+
+    // Role do usuario autenticado na empresa do contexto, resolvido pelo CompanyContextFilter
+    public static void setRole(Role role) { ROLE.set(role); }
+    public static Role getRole() { return ROLE.get(); }
+
+    public static void clear() {
+        COMPANY_ID.remove();
+        ROLE.remove();
+    }
 }
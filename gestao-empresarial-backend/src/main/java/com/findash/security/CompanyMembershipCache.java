@@ -0,0 +1,89 @@
+package com.findash.security;
+
+import com.findash.entity.Role;
+import com.findash.entity.UserRole;
+import com.findash.repository.UserRoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Role do usuario em cada empresa, consultado a cada requisicao pelo CompanyContextFilter.
+// So guarda membros: quem nao e membro sempre vai ao banco, entao convites novos valem na hora.
+// Entre replicas, mudancas de role valem no maximo apos o TTL.
+@Component
+public class CompanyMembershipCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRoleRepository userRoleRepository;
+    private final long ttlMillis;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Incrementado a cada invalidacao para descartar roles lidos antes dela
+    private long generation;
+
+    public CompanyMembershipCache(UserRoleRepository userRoleRepository,
+                                  @Value("${app.security.membership-cache-ttl:60s}") Duration ttl) {
+        this.userRoleRepository = userRoleRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public Optional<Role> resolve(UUID userId, UUID companyId) {
+        Key key = new Key(userId, companyId);
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                return Optional.of(cached.role());
+            }
+            if (cached != null) entries.remove(key);
+            startGeneration = generation;
+        }
+
+        Optional<Role> role = userRoleRepository.findByUserIdAndCompanyId(userId, companyId)
+            .map(UserRole::getRole);
+
+        if (role.isPresent()) {
+            synchronized (this) {
+                if (generation == startGeneration) {
+                    entries.put(key, new Entry(role.get(), System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return role;
+    }
+
+    public void invalidate(UUID userId, UUID companyId) {
+        evict(new Key(userId, companyId));
+        // De novo apos o commit para nao reter um role lido antes da mudanca ficar visivel
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(new Key(userId, companyId));
+                }
+            });
+        }
+    }
+
+    private synchronized void evict(Key key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    private record Key(UUID userId, UUID companyId) {}
+
+    private record Entry(Role role, long expiresAt) {}
+}
@@ -26,14 +26,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (tokenProvider.isValid(token)) {
-                UserContext user = tokenProvider.parseToken(token);
+            tokenProvider.authenticate(token).ifPresent(user -> {
                 var authorities = user.roles().stream()
                         .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                         .toList();
                 var auth = new UsernamePasswordAuthenticationToken(user, null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
@@ -7,17 +7,37 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JwtTokenProvider {
 
+    private static final int DEFAULT_VERIFIED_CACHE_SIZE = 4096;
+
+    private record Verified(UserContext user, long expiresAtMs) {}
+
     private final SecretKey key;
     private final long accessTokenExpirationMs;
+    // Thread-safe e sem estado por token: um unico parser para todas as requisicoes
+    private final JwtParser parser;
+    private final int verifiedCacheSize;
+
+    // Tokens ja verificados -> UserContext, ate o exp de cada token. Sem lock: cada requisicao
+    // autenticada passa aqui, e um acerto e so um get. O limite de tamanho e aplicado na insercao.
+    private final ConcurrentHashMap<String, Verified> verified = new ConcurrentHashMap<>();
 
     public JwtTokenProvider(String secret, long accessTokenExpirationMs) {
+        this(secret, accessTokenExpirationMs, DEFAULT_VERIFIED_CACHE_SIZE);
+    }
+
+    public JwtTokenProvider(String secret, long accessTokenExpirationMs, int verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenExpirationMs = accessTokenExpirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedCacheSize = verifiedCacheSize;
     }
 
     public String generateAccessToken(UUID userId, String email, List<String> roles) {
@@ -32,13 +52,56 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    // Verifica assinatura e expiracao e extrai o usuario numa unica passada; vazio se o token for invalido
+    public Optional<UserContext> authenticate(String token) {
+        long now = System.currentTimeMillis();
+        Verified cached = verified.get(token);
+        if (cached != null) {
+            if (cached.expiresAtMs() > now) return Optional.of(cached.user());
+            verified.remove(token, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        UserContext user = toUserContext(claims);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            if (verified.size() >= verifiedCacheSize) evict(now);
+            verified.put(token, new Verified(user, expiration.getTime()));
+        }
+        return Optional.of(user);
+    }
+
     public UserContext parseToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return toUserContext(parser.parseSignedClaims(token).getPayload());
+    }
 
+    public boolean isValid(String token) {
+        return authenticate(token).isPresent();
+    }
+
+    int cachedTokenCount() {
+        return verified.size();
+    }
+
+    // Cache cheio: saem os expirados e, se nao bastar, entradas quaisquer ate liberar um quarto.
+    // Tirar um token valido so custa uma nova verificacao de assinatura.
+    private void evict(long now) {
+        verified.values().removeIf(v -> v.expiresAtMs() <= now);
+        int target = verifiedCacheSize - Math.max(1, verifiedCacheSize / 4);
+        Iterator<String> tokens = verified.keySet().iterator();
+        while (verified.size() > target && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+
+    private UserContext toUserContext(Claims claims) {
         UUID userId = UUID.fromString(claims.getSubject());
         String email = claims.get("email", String.class);
         @SuppressWarnings("unchecked")
@@ -46,13 +109,4 @@ public class JwtTokenProvider {
 
         return new UserContext(userId, email, roles);
     }
-
-    public boolean isValid(String token) {
-        try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
-    }
 }
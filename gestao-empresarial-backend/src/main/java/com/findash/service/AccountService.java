@@ -3,8 +3,11 @@ package com.findash.service;
 import com.findash.dto.*;
 import com.findash.entity.AccountStatus;
 import com.findash.entity.AccountType;
+import com.findash.service.export.AccountExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -17,7 +20,15 @@ public interface AccountService {
     void delete(UUID companyId, UUID accountId);
     Page<AccountResponseDTO> list(UUID companyId, AccountType type, List<AccountStatus> statuses,
                                    UUID categoryId, UUID supplierId, UUID clientId,
-                                   LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable);
+                                   LocalDate dueDateFrom, LocalDate dueDateTo, String search, Pageable pageable);
+    AccountCursorPageDTO listByCursor(UUID companyId, AccountType type, List<AccountStatus> statuses,
+                                      UUID categoryId, UUID supplierId, UUID clientId,
+                                      LocalDate dueDateFrom, LocalDate dueDateTo, String search,
+                                      String cursor, int size, boolean includeTotal);
+    void export(UUID companyId, AccountType type, List<AccountStatus> statuses,
+                UUID categoryId, UUID supplierId, UUID clientId,
+                LocalDate dueDateFrom, LocalDate dueDateTo, String search,
+                AccountExportFormat format, OutputStream output) throws IOException;
 
     List<AccountResponseDTO> batchPay(UUID companyId, BatchPayRequestDTO request);
 }
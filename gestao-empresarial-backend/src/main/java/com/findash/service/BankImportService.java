@@ -1,16 +1,21 @@
 package com.findash.service;
 
 import com.findash.dto.bankimport.*;
+import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
 public interface BankImportService {
     BankImportResponseDTO upload(UUID companyId, UUID userId, MultipartFile file);
+    BankImportResponseDTO uploadAsync(UUID companyId, UUID userId, MultipartFile file);
+    ImportProgressDTO getProgress(UUID companyId, UUID importId);
     List<BankImportSummaryDTO> list(UUID companyId);
-    BankImportResponseDTO getById(UUID companyId, UUID importId);
+    BankImportResponseDTO getById(UUID companyId, UUID importId, Pageable pageable);
     BankImportItemResponseDTO updateItem(UUID companyId, UUID importId, UUID itemId, UpdateImportItemRequestDTO request);
     List<BankImportItemResponseDTO> updateItemsBatch(UUID companyId, UUID importId, BatchUpdateImportItemsRequestDTO request);
     void confirm(UUID companyId, UUID importId);
     void cancel(UUID companyId, UUID importId);
+    int failStaleImports(Duration timeout);
 }
@@ -10,4 +10,6 @@ public interface DashboardService {
     List<CashFlowPointDTO> getCashFlow(UUID companyId, LocalDate from, LocalDate to);
     List<RevenueExpenseItemDTO> getRevenueExpense(UUID companyId, LocalDate from, LocalDate to);
     List<MonthlyEvolutionPointDTO> getMonthlyEvolution(UUID companyId, LocalDate from, LocalDate to);
+    DashboardOverviewDTO getOverview(UUID companyId, LocalDate from, LocalDate to);
+    int rebuildAggregates(UUID companyId);
 }
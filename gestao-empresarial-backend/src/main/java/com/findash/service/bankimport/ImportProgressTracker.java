@@ -0,0 +1,47 @@
+package com.findash.service.bankimport;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Contadores em memoria das importacoes assincronas. Depois de um restart ou da evicao
+// o progresso e reconstruido a partir do banco.
+@Component
+public class ImportProgressTracker {
+
+    private static final int MAX_TRACKED_IMPORTS = 1024;
+
+    private final Map<UUID, Progress> progressByImport = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Progress> eldest) {
+            return size() > MAX_TRACKED_IMPORTS;
+        }
+    };
+
+    public synchronized Progress start(UUID importId) {
+        Progress progress = new Progress();
+        progressByImport.put(importId, progress);
+        return progress;
+    }
+
+    public synchronized Progress find(UUID importId) {
+        return progressByImport.get(importId);
+    }
+
+    public static final class Progress {
+        private final AtomicInteger parsed = new AtomicInteger();
+        private final AtomicInteger matched = new AtomicInteger();
+        private final AtomicInteger persisted = new AtomicInteger();
+
+        public void addParsed(int count) { parsed.addAndGet(count); }
+        public void addMatched(int count) { matched.addAndGet(count); }
+        public void addPersisted(int count) { persisted.addAndGet(count); }
+
+        public int getParsed() { return parsed.get(); }
+        public int getMatched() { return matched.get(); }
+        public int getPersisted() { return persisted.get(); }
+    }
+}
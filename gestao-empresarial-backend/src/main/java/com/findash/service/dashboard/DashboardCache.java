@@ -0,0 +1,120 @@
+package com.findash.service.dashboard;
+
+import com.findash.event.AccountsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Resultados do dashboard por (empresa, endpoint, periodo). Invalidado por AccountsChangedEvent
+// apenas nas entradas da empresa cujo periodo cruza os vencimentos alterados.
+// O evento e local: com varias replicas, uma escrita feita em outro no so aparece aqui quando a
+// entrada expira. Esse atraso de ate app.dashboard.cache-ttl e aceito para o dashboard; quem
+// precisa do valor exato (listagem de contas, exportacao) le direto do banco.
+@Component
+public class DashboardCache {
+
+    private static final int MAX_ENTRIES = 2048;
+
+    private final long ttlMillis;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            boolean evict = size() > MAX_ENTRIES;
+            if (evict) evictions.incrementAndGet();
+            return evict;
+        }
+    };
+    // Incrementado a cada invalidacao para descartar resultados calculados com dados antigos
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DashboardCache(@Value("${app.dashboard.cache-ttl:5m}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(UUID companyId, String endpoint, LocalDate from, LocalDate to, Supplier<T> loader) {
+        Key key = new Key(companyId, endpoint, from, to);
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return (T) cached.value;
+            }
+            if (cached != null) entries.remove(key);
+            startGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        T value = loader.get();
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    @EventListener
+    public void onAccountsChanged(AccountsChangedEvent event) {
+        evict(event);
+        // Invalida de novo apos o commit para nao reter um resultado lido antes da mudanca ficar visivel
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(event);
+                }
+            });
+        }
+    }
+
+    public void invalidateCompany(UUID companyId) {
+        evict(new AccountsChangedEvent(companyId, null, null));
+    }
+
+    public Stats stats() {
+        synchronized (this) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size());
+        }
+    }
+
+    // Sem datas no evento invalida a empresa inteira
+    private synchronized void evict(AccountsChangedEvent event) {
+        generation++;
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Key key = it.next().getKey();
+            if (!key.companyId().equals(event.companyId())) continue;
+            boolean overlaps = event.from() == null || event.to() == null
+                || (!key.from().isAfter(event.to()) && !key.to().isBefore(event.from()));
+            if (overlaps) {
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {}
+
+    private record Key(UUID companyId, String endpoint, LocalDate from, LocalDate to) {}
+
+    private record Entry(Object value, long expiresAt) {}
+}
@@ -0,0 +1,33 @@
+package com.findash.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum AccountExportFormat {
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    AccountExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    // Escreve o cabecalho na hora; o chamador envia as linhas e termina com finish()
+    public AccountExportWriter open(OutputStream output) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvAccountExportWriter(output);
+            case XLSX -> new XlsxAccountExportWriter(output);
+        };
+    }
+}
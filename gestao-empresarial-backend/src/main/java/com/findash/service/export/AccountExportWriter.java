@@ -0,0 +1,37 @@
+package com.findash.service.export;
+
+import com.findash.dto.AccountResponseDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface AccountExportWriter {
+
+    List<String> HEADERS = List.of(
+        "descricao", "valor", "vencimento", "pagamento", "status",
+        "categoria", "fornecedor_cliente", "observacoes");
+
+    void write(AccountResponseDTO account) throws IOException;
+
+    // Fecha o documento e descarrega o buffer sem fechar o stream de saida
+    void finish() throws IOException;
+
+    static String categoryName(AccountResponseDTO account) {
+        return account.category() != null ? account.category().name() : null;
+    }
+
+    static String counterpartyName(AccountResponseDTO account) {
+        if (account.supplier() != null) return account.supplier().name();
+        return account.client() != null ? account.client().name() : null;
+    }
+
+    // Texto iniciado por = + - @ (ou tab/CR) vira formula ao abrir a planilha; o apostrofo
+    // faz o Excel/LibreOffice tratar a celula como texto
+    static String neutralizeFormula(String value) {
+        if (value == null || value.isEmpty()) return value;
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+            || first == '\t' || first == '\r';
+        return formula ? "'" + value : value;
+    }
+}
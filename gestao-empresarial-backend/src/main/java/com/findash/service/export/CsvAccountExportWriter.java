@@ -0,0 +1,49 @@
+package com.findash.service.export;
+
+import com.findash.dto.AccountResponseDTO;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+// Mesmo separador e formato de data do template de importacao
+class CsvAccountExportWriter implements AccountExportWriter {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+        .setDelimiter(';')
+        .setRecordSeparator("\n")
+        .build();
+
+    private final CSVPrinter printer;
+
+    CsvAccountExportWriter(OutputStream output) throws IOException {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        // BOM para o Excel abrir acentos corretamente
+        writer.write('\uFEFF');
+        this.printer = new CSVPrinter(writer, FORMAT);
+        printer.printRecord(HEADERS);
+    }
+
+    @Override
+    public void write(AccountResponseDTO account) throws IOException {
+        // Valor e datas sao gerados aqui; os textos vem do usuario e passam pela neutralizacao
+        printer.printRecord(
+            AccountExportWriter.neutralizeFormula(account.description()),
+            account.amount().toPlainString(),
+            account.dueDate(),
+            account.paymentDate(),
+            account.status(),
+            AccountExportWriter.neutralizeFormula(AccountExportWriter.categoryName(account)),
+            AccountExportWriter.neutralizeFormula(AccountExportWriter.counterpartyName(account)),
+            AccountExportWriter.neutralizeFormula(account.notes()));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        printer.flush();
+    }
+}
@@ -0,0 +1,129 @@
+package com.findash.service.export;
+
+import com.findash.dto.AccountResponseDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Planilha minima (uma aba, strings inline, sem estilos) escrita direto no zip de saida,
+// linha a linha, sem montar o documento em memoria
+class XlsxAccountExportWriter implements AccountExportWriter {
+
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String OFFICE_RELS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String SPREADSHEET_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    private static final String CONTENT_TYPES = XML_HEADER
+        + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+        + "<Override PartName=\"/xl/workbook.xml\" "
+        + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+        + "<Override PartName=\"/xl/worksheets/sheet1.xml\" "
+        + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+        + "</Types>";
+
+    private static final String ROOT_RELS = XML_HEADER
+        + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+        + "<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+        + "</Relationships>";
+
+    private static final String WORKBOOK = XML_HEADER
+        + "<workbook xmlns=\"" + SPREADSHEET_NS + "\" xmlns:r=\"" + OFFICE_RELS + "\">"
+        + "<sheets><sheet name=\"Contas\" sheetId=\"1\" r:id=\"rId1\"/></sheets>"
+        + "</workbook>";
+
+    private static final String WORKBOOK_RELS = XML_HEADER
+        + "<Relationships xmlns=\"" + RELATIONSHIPS_NS + "\">"
+        + "<Relationship Id=\"rId1\" Type=\"" + OFFICE_RELS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+        + "</Relationships>";
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+
+    XlsxAccountExportWriter(OutputStream output) throws IOException {
+        this.zip = new ZipOutputStream(output, StandardCharsets.UTF_8);
+        entry("[Content_Types].xml", CONTENT_TYPES);
+        entry("_rels/.rels", ROOT_RELS);
+        entry("xl/workbook.xml", WORKBOOK);
+        entry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        sheet.write(XML_HEADER);
+        sheet.write("<worksheet xmlns=\"" + SPREADSHEET_NS + "\"><sheetData>");
+
+        sheet.write("<row>");
+        for (String header : HEADERS) {
+            text(header);
+        }
+        sheet.write("</row>");
+    }
+
+    @Override
+    public void write(AccountResponseDTO account) throws IOException {
+        sheet.write("<row>");
+        text(account.description());
+        sheet.write("<c><v>");
+        sheet.write(account.amount().toPlainString());
+        sheet.write("</v></c>");
+        date(account.dueDate());
+        date(account.paymentDate());
+        text(account.status());
+        text(AccountExportWriter.categoryName(account));
+        text(AccountExportWriter.counterpartyName(account));
+        text(account.notes());
+        sheet.write("</row>");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void entry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void date(LocalDate value) throws IOException {
+        text(value != null ? value.toString() : null);
+    }
+
+    // Celula vazia mantem a posicao das colunas seguintes. inlineStr nao e avaliado, mas a celula
+    // vira formula se for editada ou salva como CSV, entao o texto e neutralizado como no CSV
+    private void text(String raw) throws IOException {
+        if (raw == null) {
+            sheet.write("<c/>");
+            return;
+        }
+        String value = AccountExportWriter.neutralizeFormula(raw);
+        sheet.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> sheet.write("&amp;");
+                case '<' -> sheet.write("&lt;");
+                case '>' -> sheet.write("&gt;");
+                default -> {
+                    // Caracteres de controle sao invalidos em XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') sheet.write(c);
+                }
+            }
+        }
+        sheet.write("</t></is></c>");
+    }
+}
@@ -3,26 +3,43 @@ package com.findash.service.impl;
 import com.findash.dto.*;
 import com.findash.entity.*;
 import com.findash.exception.BusinessRuleException;
+import com.findash.event.AccountsChangedEvent;
 import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.AccountMapper;
 import com.findash.repository.*;
 import com.findash.service.AccountService;
+import com.findash.service.export.AccountExportFormat;
+import com.findash.service.export.AccountExportWriter;
+import com.findash.service.recurrence.RecurrenceMaterializer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
     private static final int MAX_RECURRENCE_ENTRIES = 60;
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    // Ids por UPDATE/SELECT do batchPay, abaixo do limite de parametros por instrucao do PostgreSQL
+    private static final int BATCH_PAY_CHUNK_SIZE = 1000;
+    private static final Sort KEYSET_SORT = Sort.by("dueDate", "id");
+    private static final int EXPORT_CHUNK_SIZE = 1000;
 
     private final AccountRepository accountRepository;
     private final RecurrenceRepository recurrenceRepository;
@@ -30,19 +47,25 @@ public class AccountServiceImpl implements AccountService {
     private final SupplierRepository supplierRepository;
     private final ClientRepository clientRepository;
     private final AccountMapper accountMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecurrenceMaterializer recurrenceMaterializer;
 
     public AccountServiceImpl(AccountRepository accountRepository,
                               RecurrenceRepository recurrenceRepository,
                               CategoryRepository categoryRepository,
                               SupplierRepository supplierRepository,
                               ClientRepository clientRepository,
-                              AccountMapper accountMapper) {
+                              AccountMapper accountMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              RecurrenceMaterializer recurrenceMaterializer) {
         this.accountRepository = accountRepository;
         this.recurrenceRepository = recurrenceRepository;
         this.categoryRepository = categoryRepository;
         this.supplierRepository = supplierRepository;
         this.clientRepository = clientRepository;
         this.accountMapper = accountMapper;
+        this.eventPublisher = eventPublisher;
+        this.recurrenceMaterializer = recurrenceMaterializer;
     }
 
     @Override
@@ -75,6 +98,7 @@ public class AccountServiceImpl implements AccountService {
 
         Account account = buildAccount(companyId, type, request, null);
         account = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, account.getDueDate()));
         return accountMapper.toResponse(account, category, supplier, client);
     }
 
@@ -87,19 +111,37 @@ public class AccountServiceImpl implements AccountService {
         Recurrence recurrence = new Recurrence(companyId, frequency, request.dueDate());
         recurrence.setEndDate(recDto.endDate());
         recurrence.setMaxOccurrences(recDto.maxOccurrences());
-        recurrence = recurrenceRepository.save(recurrence);
+
+        // Lazy: so o horizonte e criado agora, o restante fica para o RecurrenceMaterializationScheduler
+        if (Boolean.TRUE.equals(recDto.lazy())) {
+            recurrence.setNextDueDate(request.dueDate());
+            recurrence = recurrenceRepository.save(recurrence);
+            Account template = buildAccount(companyId, type, request, recurrence.getId());
+            List<Account> created = recurrenceMaterializer.materialize(recurrence, template);
+            if (created.isEmpty()) {
+                throw new BusinessRuleException("A recorrencia nao gera nenhuma ocorrencia");
+            }
+            return accountMapper.toResponse(created.get(0), category, supplier, client);
+        }
 
         List<LocalDate> dates = generateDates(request.dueDate(), frequency, recDto.endDate(), recDto.maxOccurrences());
+        if (dates.isEmpty()) {
+            throw new BusinessRuleException("A recorrencia nao gera nenhuma ocorrencia");
+        }
+        recurrence.setGeneratedCount(dates.size());
+        recurrence = recurrenceRepository.save(recurrence);
 
-        Account firstAccount = null;
+        // Um unico saveAll: o Hibernate agrupa os INSERTs em lote (hibernate.jdbc.batch_size)
+        List<Account> accounts = new ArrayList<>(dates.size());
         for (LocalDate date : dates) {
             Account account = buildAccount(companyId, type, request, recurrence.getId());
             account.setDueDate(date);
-            account = accountRepository.save(account);
-            if (firstAccount == null) firstAccount = account;
+            accounts.add(account);
         }
+        List<Account> saved = accountRepository.saveAll(accounts);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, dates.get(0), dates.get(dates.size() - 1)));
 
-        return accountMapper.toResponse(firstAccount, category, supplier, client);
+        return accountMapper.toResponse(saved.get(0), category, supplier, client);
     }
 
     private Account buildAccount(UUID companyId, AccountType type, CreateAccountRequestDTO request, UUID recurrenceId) {
@@ -128,12 +170,7 @@ public class AccountServiceImpl implements AccountService {
             dates.add(current);
             count++;
 
-            current = switch (frequency) {
-                case MONTHLY -> current.plusMonths(1);
-                case WEEKLY -> current.plusWeeks(1);
-                case BIWEEKLY -> current.plusWeeks(2);
-                case YEARLY -> current.plusYears(1);
-            };
+            current = frequency.next(current);
         }
 
         return dates;
@@ -153,6 +190,7 @@ public class AccountServiceImpl implements AccountService {
         categoryRepository.findByIdAndCompanyId(request.categoryId(), companyId)
             .orElseThrow(() -> new ResourceNotFoundException("Categoria", request.categoryId()));
 
+        LocalDate previousDueDate = account.getDueDate();
         account.setDescription(request.description().trim());
         account.setAmount(request.amount());
         account.setDueDate(request.dueDate());
@@ -162,6 +200,7 @@ public class AccountServiceImpl implements AccountService {
         account.setNotes(request.notes());
 
         account = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, previousDueDate, account.getDueDate()));
         return toResponseWithRelations(account);
     }
 
@@ -182,6 +221,7 @@ public class AccountServiceImpl implements AccountService {
         }
 
         account = accountRepository.save(account);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, account.getDueDate()));
         return toResponseWithRelations(account);
     }
 
@@ -189,13 +229,88 @@ public class AccountServiceImpl implements AccountService {
     public void delete(UUID companyId, UUID accountId) {
         Account account = findOrThrow(companyId, accountId);
         accountRepository.delete(account);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, account.getDueDate()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<AccountResponseDTO> list(UUID companyId, AccountType type, List<AccountStatus> statuses,
                                           UUID categoryId, UUID supplierId, UUID clientId,
-                                          LocalDate dueDateFrom, LocalDate dueDateTo, Pageable pageable) {
+                                          LocalDate dueDateFrom, LocalDate dueDateTo, String search,
+                                          Pageable pageable) {
+        Specification<Account> spec = filterSpec(companyId, type, statuses, categoryId, supplierId,
+            clientId, dueDateFrom, dueDateTo, search);
+
+        // Com busca a relevancia vem primeiro e a ordenacao pedida so desempata
+        if (search != null && !search.isBlank()) {
+            spec = spec.and(AccountSpecifications.orderByRelevance(search, pageable.getSort().and(Sort.by("id"))));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+
+        Page<Account> page = accountRepository.findAll(spec, pageable);
+        return new PageImpl<>(toResponsesWithRelations(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountCursorPageDTO listByCursor(UUID companyId, AccountType type, List<AccountStatus> statuses,
+                                             UUID categoryId, UUID supplierId, UUID clientId,
+                                             LocalDate dueDateFrom, LocalDate dueDateTo, String search,
+                                             String cursor, int size, boolean includeTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Specification<Account> filter = filterSpec(companyId, type, statuses, categoryId, supplierId,
+            clientId, dueDateFrom, dueDateTo, search);
+
+        Specification<Account> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            AccountCursor position = AccountCursor.decode(cursor);
+            spec = spec.and(AccountSpecifications.after(position.dueDate(), position.id()));
+        }
+
+        // Busca um a mais para saber se ha proxima pagina sem COUNT
+        List<Account> rows = accountRepository.findBy(spec, q -> q.sortBy(KEYSET_SORT).limit(limit + 1).all());
+        boolean hasNext = rows.size() > limit;
+        List<Account> content = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Account last = content.get(content.size() - 1);
+            nextCursor = new AccountCursor(last.getDueDate(), last.getId()).encode();
+        }
+        Long total = includeTotal ? accountRepository.count(filter) : null;
+        return new AccountCursorPageDTO(toResponsesWithRelations(content), nextCursor, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(UUID companyId, AccountType type, List<AccountStatus> statuses,
+                       UUID categoryId, UUID supplierId, UUID clientId,
+                       LocalDate dueDateFrom, LocalDate dueDateTo, String search,
+                       AccountExportFormat format, OutputStream output) throws IOException {
+        Specification<Account> spec = filterSpec(companyId, type, statuses, categoryId, supplierId,
+            clientId, dueDateFrom, dueDateTo, search);
+
+        AccountExportWriter writer = format.open(output);
+        // Relacoes resolvidas por lote do cursor, como na listagem; a memoria nao cresce com o total
+        try (Stream<Account> rows = accountRepository.streamAll(spec, KEYSET_SORT, EXPORT_CHUNK_SIZE)) {
+            List<Account> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Account> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    for (AccountResponseDTO account : toResponsesWithRelations(chunk)) {
+                        writer.write(account);
+                    }
+                    chunk.clear();
+                }
+            }
+        }
+        writer.finish();
+    }
+
+    private Specification<Account> filterSpec(UUID companyId, AccountType type, List<AccountStatus> statuses,
+                                              UUID categoryId, UUID supplierId, UUID clientId,
+                                              LocalDate dueDateFrom, LocalDate dueDateTo, String search) {
         Specification<Account> spec = Specification.where(AccountSpecifications.isActive())
             .and(AccountSpecifications.hasCompanyId(companyId))
             .and(AccountSpecifications.hasType(type));
@@ -218,25 +333,83 @@ public class AccountServiceImpl implements AccountService {
         if (dueDateTo != null) {
             spec = spec.and(AccountSpecifications.dueDateTo(dueDateTo));
         }
+        if (search != null && !search.isBlank()) {
+            spec = spec.and(AccountSpecifications.descriptionContains(search));
+        }
+        return spec;
+    }
 
-        return accountRepository.findAll(spec, pageable).map(this::toResponseWithRelations);
+    // Cursor opaco para o cliente: base64url de "dueDate|id" da ultima conta da pagina
+    private record AccountCursor(LocalDate dueDate, UUID id) {
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dueDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static AccountCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new AccountCursor(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (RuntimeException e) {
+                throw new BusinessRuleException("Cursor de paginacao invalido");
+            }
+        }
     }
 
     @Override
     public List<AccountResponseDTO> batchPay(UUID companyId, BatchPayRequestDTO request) {
-        List<Account> accounts = accountRepository.findByIdInAndCompanyId(request.accountIds(), companyId);
+        // Baixa direto no banco: contas ja pagas/recebidas ou de outra empresa nao voltam no RETURNING
+        List<UUID> ids = request.accountIds().stream().distinct().toList();
+        List<UUID> paidIds = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BATCH_PAY_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BATCH_PAY_CHUNK_SIZE, ids.size()));
+            paidIds.addAll(accountRepository.settleUnpaid(companyId, chunk, request.paymentDate()));
+        }
+        if (paidIds.isEmpty()) return List.of();
+
+        List<AccountResponseDTO> responses = new ArrayList<>(paidIds.size());
+        List<LocalDate> paidDueDates = new ArrayList<>(paidIds.size());
+        for (int from = 0; from < paidIds.size(); from += BATCH_PAY_CHUNK_SIZE) {
+            List<UUID> chunk = paidIds.subList(from, Math.min(from + BATCH_PAY_CHUNK_SIZE, paidIds.size()));
+            for (Object[] row : accountRepository.findWithRelationsByIdIn(chunk)) {
+                Account account = (Account) row[0];
+                paidDueDates.add(account.getDueDate());
+                responses.add(accountMapper.toResponse(account, (Category) row[1], (Supplier) row[2], (Client) row[3]));
+            }
+        }
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId, paidDueDates.toArray(LocalDate[]::new)));
+        return responses;
+    }
 
-        List<AccountResponseDTO> result = new ArrayList<>();
+    // Uma consulta por tipo de relacao para a lista inteira, nao tres por conta
+    private List<AccountResponseDTO> toResponsesWithRelations(List<Account> accounts) {
+        if (accounts.isEmpty()) return List.of();
+
+        Set<UUID> categoryIds = new HashSet<>();
+        Set<UUID> supplierIds = new HashSet<>();
+        Set<UUID> clientIds = new HashSet<>();
         for (Account account : accounts) {
-            if (account.getStatus() == AccountStatus.PAID || account.getStatus() == AccountStatus.RECEIVED) {
-                continue;
-            }
-            account.setPaymentDate(request.paymentDate());
-            account.setStatus(account.getType() == AccountType.PAYABLE ? AccountStatus.PAID : AccountStatus.RECEIVED);
-            accountRepository.save(account);
-            result.add(toResponseWithRelations(account));
+            if (account.getCategoryId() != null) categoryIds.add(account.getCategoryId());
+            if (account.getSupplierId() != null) supplierIds.add(account.getSupplierId());
+            if (account.getClientId() != null) clientIds.add(account.getClientId());
         }
-        return result;
+
+        Map<UUID, Category> categories = categoryIds.isEmpty() ? Map.of()
+            : categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<UUID, Supplier> suppliers = supplierIds.isEmpty() ? Map.of()
+            : supplierRepository.findAllById(supplierIds).stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+        Map<UUID, Client> clients = clientIds.isEmpty() ? Map.of()
+            : clientRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+
+        return accounts.stream()
+            .map(account -> accountMapper.toResponse(account,
+                account.getCategoryId() != null ? categories.get(account.getCategoryId()) : null,
+                account.getSupplierId() != null ? suppliers.get(account.getSupplierId()) : null,
+                account.getClientId() != null ? clients.get(account.getClientId()) : null))
+            .toList();
     }
 
     private AccountResponseDTO toResponseWithRelations(Account account) {
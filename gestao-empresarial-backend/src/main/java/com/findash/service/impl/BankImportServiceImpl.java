@@ -2,22 +2,60 @@ package com.findash.service.impl;
 
 import com.findash.dto.bankimport.*;
 import com.findash.entity.*;
+import com.findash.event.AccountsChangedEvent;
 import com.findash.exception.BusinessRuleException;
 import com.findash.exception.ResourceNotFoundException;
 import com.findash.repository.*;
 import com.findash.service.BankImportService;
+import com.findash.service.bankimport.ImportProgressTracker;
+import com.findash.service.matching.SupplierMatcher;
+import com.findash.service.matching.SupplierMatcherCache;
 import com.findash.service.parser.*;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Transactional
 public class BankImportServiceImpl implements BankImportService {
 
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    // Campos de BankImportItem aceitos em "sort"; qualquer outro viraria PropertyReferenceException (500)
+    private static final Set<String> ITEM_SORT_PROPERTIES =
+        Set.of("date", "amount", "description", "type", "accountType", "possibleDuplicate", "createdAt");
+    private static final String STALE_IMPORT_MESSAGE =
+        "Processamento interrompido. Envie o arquivo novamente.";
+
+    // Timers de upload (tag "mode": sync ou async, este medindo o worker) e de confirmacao
+    private static final String UPLOAD_OBSERVATION = "findash.import.upload";
+    private static final String CONFIRM_OBSERVATION = "findash.import.confirm";
+
     private final BankImportRepository importRepository;
     private final BankImportItemRepository itemRepository;
     private final SupplierMatchRuleRepository matchRuleRepository;
@@ -28,6 +66,13 @@ public class BankImportServiceImpl implements BankImportService {
     private final OfxParser ofxParser;
     private final CsvParser csvParser;
     private final PdfParser pdfParser;
+    private final SupplierMatcherCache matcherCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor importExecutor;
+    private final ImportProgressTracker progressTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObservationRegistry observationRegistry;
 
     public BankImportServiceImpl(BankImportRepository importRepository,
                                  BankImportItemRepository itemRepository,
@@ -38,7 +83,14 @@ public class BankImportServiceImpl implements BankImportService {
                                  CategoryRepository categoryRepository,
                                  OfxParser ofxParser,
                                  CsvParser csvParser,
-                                 PdfParser pdfParser) {
+                                 PdfParser pdfParser,
+                                 SupplierMatcherCache matcherCache,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("bankImportExecutor") Executor importExecutor,
+                                 ImportProgressTracker progressTracker,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObservationRegistry observationRegistry) {
         this.importRepository = importRepository;
         this.itemRepository = itemRepository;
         this.matchRuleRepository = matchRuleRepository;
@@ -49,65 +101,108 @@ public class BankImportServiceImpl implements BankImportService {
         this.ofxParser = ofxParser;
         this.csvParser = csvParser;
         this.pdfParser = pdfParser;
+        this.matcherCache = matcherCache;
+        this.entityManager = entityManager;
+        // REQUIRES_NEW: o worker tambem e acionado no afterCommit da requisicao, quando a transacao dela ja terminou
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.importExecutor = importExecutor;
+        this.progressTracker = progressTracker;
+        this.eventPublisher = eventPublisher;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     public BankImportResponseDTO upload(UUID companyId, UUID userId, MultipartFile file) {
-        String filename = file.getOriginalFilename() != null ?
-            file.getOriginalFilename() : "extrato";
+        return uploadObservation("sync").observe(() -> parseAndStore(companyId, userId, file));
+    }
+
+    private BankImportResponseDTO parseAndStore(UUID companyId, UUID userId, MultipartFile file) {
+        String filename = resolveFilename(file);
         BankImportFileType fileType = detectFileType(filename);
+        BankStatementParser parser = parserFor(fileType);
 
-        List<ParsedTransaction> transactions;
-        try {
-            BankStatementParser parser = switch (fileType) {
-                case OFX -> ofxParser;
-                case CSV -> csvParser;
-                case PDF -> pdfParser;
-            };
-            transactions = parser.parse(file.getInputStream(), filename);
-        } catch (BusinessRuleException e) {
+        BankImport bankImport = new BankImport(companyId, filename, fileType, userId);
+        bankImport = importRepository.save(bankImport);
+        UUID importId = bankImport.getId();
+
+        SupplierMatcher matcher = matcherCache.get(companyId);
+
+        // Transacoes sao persistidas em lotes a medida que o parser as emite
+        TransactionChunker chunker = new TransactionChunker(IMPORT_CHUNK_SIZE,
+            chunk -> persistChunk(importId, chunk, matcher, companyId));
+        try (InputStream input = file.getInputStream()) {
+            parser.parse(input, filename, chunker);
+            chunker.flush();
+        } catch (BusinessRuleException | DataAccessException e) {
             throw e;
         } catch (Exception e) {
             throw new BusinessRuleException("Erro ao processar arquivo: " + e.getMessage());
         }
 
-        if (transactions.isEmpty()) {
+        if (chunker.getTotal() == 0) {
             throw new BusinessRuleException("Nenhuma transacao encontrada no arquivo.");
         }
 
-        BankImport bankImport = new BankImport(companyId, filename, fileType, userId);
+        bankImport.setTotalRecords(chunker.getTotal());
         bankImport = importRepository.save(bankImport);
 
-        List<SupplierMatchRule> rules = matchRuleRepository.findByCompanyId(companyId);
-        List<BankImportItem> items = new ArrayList<>();
-
-        for (ParsedTransaction tx : transactions) {
-            BankImportItemType itemType = "CREDIT".equals(tx.type()) ?
-                BankImportItemType.CREDIT : BankImportItemType.DEBIT;
-            AccountType accountType = itemType == BankImportItemType.DEBIT ?
-                AccountType.PAYABLE : AccountType.RECEIVABLE;
-
-            BankImportItem item = new BankImportItem(
-                bankImport.getId(), tx.date(), tx.description(),
-                tx.amount(), itemType, accountType
-            );
-            item.setOriginalData(tx.rawData());
+        // Itens nao sao mantidos em memoria; a tela de revisao os carrega via getById
+        return toResponseDTO(bankImport, Page.empty());
+    }
 
-            // Deteccao de duplicado
-            boolean isDuplicate = accountRepository.existsByCompanyIdAndDueDateAndAmountAndDescription(
-                companyId, tx.date(), tx.amount(), tx.description());
-            item.setPossibleDuplicate(isDuplicate);
+    @Override
+    public BankImportResponseDTO uploadAsync(UUID companyId, UUID userId, MultipartFile file) {
+        String filename = resolveFilename(file);
+        BankImportFileType fileType = detectFileType(filename);
+        BankStatementParser parser = parserFor(fileType);
 
-            // Sugestao por regras de matching
-            applyMatchingRules(item, rules, tx.description(), companyId);
+        // O MultipartFile deixa de existir ao fim da requisicao: o worker le de um arquivo temporario
+        Path tempFile = copyToTempFile(file);
 
-            items.add(itemRepository.save(item));
+        BankImport bankImport = new BankImport(companyId, filename, fileType, userId);
+        bankImport.setStatus(BankImportStatus.PROCESSING);
+        bankImport = importRepository.save(bankImport);
+        UUID importId = bankImport.getId();
+        ImportProgressTracker.Progress progress = progressTracker.start(importId);
+        BankImportResponseDTO response = toResponseDTO(bankImport, Page.empty());
+
+        Runnable submit = () -> submitImport(importId, companyId, parser, filename, tempFile, progress);
+        // So agenda apos o commit para o worker enxergar a importacao
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) deleteTempFile(tempFile);
+                }
+            });
+        } else {
+            submit.run();
         }
+        return response;
+    }
 
-        bankImport.setTotalRecords(items.size());
-        bankImport = importRepository.save(bankImport);
+    @Override
+    @Transactional(readOnly = true)
+    public ImportProgressDTO getProgress(UUID companyId, UUID importId) {
+        BankImport bankImport = findImportOrThrow(companyId, importId);
+        ImportProgressTracker.Progress progress = progressTracker.find(importId);
+        if (progress != null) {
+            return new ImportProgressDTO(importId, bankImport.getStatus().name(),
+                progress.getParsed(), progress.getMatched(), progress.getPersisted(),
+                bankImport.getErrorMessage());
+        }
 
-        return toResponseDTO(bankImport, items, companyId);
+        // Sem contadores em memoria (restart ou import sincrono): o que esta no banco e o total
+        int total = bankImport.getTotalRecords();
+        int matched = (int) itemRepository.countByImportIdAndSupplierIdIsNotNull(importId);
+        return new ImportProgressDTO(importId, bankImport.getStatus().name(),
+            total, matched, total, bankImport.getErrorMessage());
     }
 
     @Override
@@ -122,10 +217,14 @@ public class BankImportServiceImpl implements BankImportService {
 
     @Override
     @Transactional(readOnly = true)
-    public BankImportResponseDTO getById(UUID companyId, UUID importId) {
+    public BankImportResponseDTO getById(UUID companyId, UUID importId, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!ITEM_SORT_PROPERTIES.contains(order.getProperty())) {
+                throw new BusinessRuleException("Ordenacao invalida: " + order.getProperty());
+            }
+        }
         BankImport bankImport = findImportOrThrow(companyId, importId);
-        List<BankImportItem> items = itemRepository.findByImportId(importId);
-        return toResponseDTO(bankImport, items, companyId);
+        return toResponseDTO(bankImport, itemRepository.findByImportId(importId, pageable));
     }
 
     @Override
@@ -142,7 +241,7 @@ public class BankImportServiceImpl implements BankImportService {
         if (request.accountType() != null) item.setAccountType(AccountType.valueOf(request.accountType()));
 
         item = itemRepository.save(item);
-        return toItemDTO(item, companyId);
+        return toItemDTOs(List.of(item)).get(0);
     }
 
     @Override
@@ -151,21 +250,25 @@ public class BankImportServiceImpl implements BankImportService {
         BankImport bankImport = findImportOrThrow(companyId, importId);
         assertEditable(bankImport);
 
-        List<BankImportItemResponseDTO> result = new ArrayList<>();
+        List<BankImportItem> updated = new ArrayList<>();
         for (UUID itemId : request.itemIds()) {
             itemRepository.findByIdAndImportId(itemId, importId).ifPresent(item -> {
                 if (request.supplierId() != null) item.setSupplierId(request.supplierId());
                 if (request.categoryId() != null) item.setCategoryId(request.categoryId());
                 if (request.accountType() != null) item.setAccountType(AccountType.valueOf(request.accountType()));
-                itemRepository.save(item);
-                result.add(toItemDTO(item, companyId));
+                updated.add(itemRepository.save(item));
             });
         }
-        return result;
+        return toItemDTOs(updated);
     }
 
     @Override
     public void confirm(UUID companyId, UUID importId) {
+        Observation.createNotStarted(CONFIRM_OBSERVATION, observationRegistry)
+            .observe(() -> confirmItems(companyId, importId));
+    }
+
+    private void confirmItems(UUID companyId, UUID importId) {
         BankImport bankImport = findImportOrThrow(companyId, importId);
         assertEditable(bankImport);
 
@@ -179,6 +282,14 @@ public class BankImportServiceImpl implements BankImportService {
                 incomplete + " item(ns) sem fornecedor ou categoria. Preencha todos antes de confirmar.");
         }
 
+        // Classifica todas as contrapartes com uma consulta: o que nao e fornecedor e cliente
+        Set<UUID> counterpartyIds = new HashSet<>();
+        for (BankImportItem item : items) counterpartyIds.add(item.getSupplierId());
+        Set<UUID> supplierIds = new HashSet<>();
+        for (Supplier supplier : supplierRepository.findAllById(counterpartyIds)) supplierIds.add(supplier.getId());
+
+        List<Account> accounts = new ArrayList<>(items.size());
+        List<SupplierMatchRule> rules = new ArrayList<>(items.size());
         for (BankImportItem item : items) {
             Account account = new Account(
                 companyId, item.getAccountType(),
@@ -186,7 +297,7 @@ public class BankImportServiceImpl implements BankImportService {
                 item.getDate(), item.getCategoryId()
             );
             UUID counterpartyId = item.getSupplierId();
-            if (supplierRepository.existsById(counterpartyId)) {
+            if (supplierIds.contains(counterpartyId)) {
                 account.setSupplierId(counterpartyId);
             } else {
                 account.setClientId(counterpartyId);
@@ -196,22 +307,21 @@ public class BankImportServiceImpl implements BankImportService {
                     ? AccountStatus.PAID : AccountStatus.RECEIVED);
                 account.setPaymentDate(item.getDate());
             }
-            accountRepository.save(account);
+            accounts.add(account);
 
             // Upsert da regra de matching
-            String pattern = normalizePattern(item.getDescription());
-            matchRuleRepository.findByCompanyIdAndPattern(companyId, pattern)
-                .ifPresentOrElse(
-                    rule -> {
-                        rule.setSupplierId(item.getSupplierId());
-                        rule.setCategoryId(item.getCategoryId());
-                        matchRuleRepository.save(rule);
-                    },
-                    () -> matchRuleRepository.save(
-                        new SupplierMatchRule(companyId, pattern, item.getSupplierId(), item.getCategoryId()))
-                );
+            rules.add(new SupplierMatchRule(companyId, normalizePattern(item.getDescription()),
+                item.getSupplierId(), item.getCategoryId()));
         }
 
+        // Insercoes em lote (hibernate.jdbc.batch_size) e upsert das regras em um unico batch JDBC
+        accountRepository.saveAll(accounts);
+        matchRuleRepository.upsertAll(rules);
+
+        matcherCache.invalidate(companyId);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(companyId,
+            accounts.stream().map(Account::getDueDate).toArray(LocalDate[]::new)));
+
         bankImport.setStatus(BankImportStatus.COMPLETED);
         importRepository.save(bankImport);
     }
@@ -225,8 +335,201 @@ public class BankImportServiceImpl implements BankImportService {
         itemRepository.deleteAll(itemRepository.findByImportId(importId));
     }
 
+    private Observation uploadObservation(String mode) {
+        return Observation.createNotStarted(UPLOAD_OBSERVATION, observationRegistry)
+            .lowCardinalityKeyValue("mode", mode);
+    }
+
+    // --- Async processing ---
+
+    private void submitImport(UUID importId, UUID companyId, BankStatementParser parser,
+                              String filename, Path tempFile, ImportProgressTracker.Progress progress) {
+        try {
+            importExecutor.execute(() -> uploadObservation("async")
+                .observe(() -> processImport(importId, companyId, parser, filename, tempFile, progress)));
+        } catch (RejectedExecutionException e) {
+            deleteTempFile(tempFile);
+            markFailed(importId, "Muitas importacoes em andamento. Tente novamente em alguns minutos.");
+        }
+    }
+
+    // Roda fora da requisicao: cada lote e uma transacao propria, entao o progresso fica visivel
+    // enquanto o arquivo e processado
+    private void processImport(UUID importId, UUID companyId, BankStatementParser parser,
+                               String filename, Path tempFile, ImportProgressTracker.Progress progress) {
+        try {
+            // Pode ter esperado na fila alem do limite e ja ter sido varrida como presa
+            transactionTemplate.executeWithoutResult(status -> touchProcessing(importId));
+            SupplierMatcher matcher = matcherCache.get(companyId);
+            TransactionChunker chunker = new TransactionChunker(IMPORT_CHUNK_SIZE, chunk -> {
+                int matched = transactionTemplate.execute(status -> {
+                    touchProcessing(importId);
+                    return persistChunk(importId, chunk, matcher, companyId);
+                });
+                progress.addMatched(matched);
+                progress.addPersisted(chunk.size());
+            });
+            try (InputStream input = Files.newInputStream(tempFile)) {
+                parser.parse(input, filename, tx -> {
+                    progress.addParsed(1);
+                    chunker.accept(tx);
+                });
+                chunker.flush();
+            }
+
+            if (chunker.getTotal() == 0) {
+                throw new BusinessRuleException("Nenhuma transacao encontrada no arquivo.");
+            }
+
+            int total = chunker.getTotal();
+            transactionTemplate.executeWithoutResult(status -> {
+                BankImport bankImport = importRepository.findById(importId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Importacao", importId));
+                if (bankImport.getStatus() != BankImportStatus.PROCESSING) {
+                    throw new BusinessRuleException(STALE_IMPORT_MESSAGE);
+                }
+                bankImport.setTotalRecords(total);
+                bankImport.setStatus(BankImportStatus.PENDING_REVIEW);
+                importRepository.save(bankImport);
+            });
+        } catch (BusinessRuleException e) {
+            markFailed(importId, e.getMessage());
+        } catch (Exception e) {
+            markFailed(importId, "Erro ao processar arquivo: " + e.getMessage());
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    // Importacoes cujo worker morreu (restart, OOM) ficariam em PROCESSING para sempre:
+    // a varredura as marca como FAILED e descarta os lotes parciais
+    @Override
+    public int failStaleImports(Duration timeout) {
+        List<UUID> stale = importRepository.failStaleProcessing(timeout.toSeconds(), STALE_IMPORT_MESSAGE);
+        if (!stale.isEmpty()) {
+            itemRepository.deleteByImportIdIn(stale);
+        }
+        return stale.size();
+    }
+
+    // Heartbeat por lote; se a varredura ja falhou a importacao, o worker para aqui
+    private void touchProcessing(UUID importId) {
+        if (importRepository.touchProcessing(importId) == 0) {
+            throw new BusinessRuleException(STALE_IMPORT_MESSAGE);
+        }
+    }
+
+    // Descarta os lotes ja gravados e registra o motivo da falha
+    private void markFailed(UUID importId, String message) {
+        String errorMessage = message != null && message.length() > 500 ? message.substring(0, 500) : message;
+        transactionTemplate.executeWithoutResult(status -> {
+            itemRepository.deleteByImportId(importId);
+            importRepository.findById(importId).ifPresent(bankImport -> {
+                bankImport.setStatus(BankImportStatus.FAILED);
+                bankImport.setErrorMessage(errorMessage);
+                importRepository.save(bankImport);
+            });
+        });
+    }
+
+    private Path copyToTempFile(MultipartFile file) {
+        try {
+            Path tempFile = Files.createTempFile("findash-import-", ".tmp");
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return tempFile;
+        } catch (IOException e) {
+            throw new BusinessRuleException("Erro ao processar arquivo: " + e.getMessage());
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+            // O arquivo fica no diretorio temporario do sistema; nao afeta a importacao
+        }
+    }
+
     // --- Helpers ---
 
+    // Retorna quantos itens do lote receberam sugestao de fornecedor/cliente
+    private int persistChunk(UUID importId, List<ParsedTransaction> chunk,
+                             SupplierMatcher matcher, UUID companyId) {
+        Set<DuplicateKey> existing = findExistingAccounts(companyId, chunk);
+        int matched = 0;
+
+        List<BankImportItem> items = new ArrayList<>(chunk.size());
+        for (ParsedTransaction tx : chunk) {
+            BankImportItemType itemType = "CREDIT".equals(tx.type()) ?
+                BankImportItemType.CREDIT : BankImportItemType.DEBIT;
+            AccountType accountType = itemType == BankImportItemType.DEBIT ?
+                AccountType.PAYABLE : AccountType.RECEIVABLE;
+
+            BankImportItem item = new BankImportItem(
+                importId, tx.date(), tx.description(),
+                tx.amount(), itemType, accountType
+            );
+            item.setOriginalData(tx.rawData());
+
+            // Deteccao de duplicado
+            item.setPossibleDuplicate(existing.contains(
+                DuplicateKey.of(tx.date(), tx.amount(), tx.description())));
+
+            // Sugestao por regras de matching e, na falta delas, por nome de fornecedor/cliente
+            applyMatch(item, matcher.match(tx.description(), accountType));
+            if (item.getSupplierId() != null) matched++;
+
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+
+        // Descarrega o lote e solta as entidades para o heap nao crescer com o tamanho do arquivo
+        entityManager.flush();
+        entityManager.clear();
+        return matched;
+    }
+
+    // Resolve em uma unica consulta as contas ja existentes que coincidem com o lote
+    private Set<DuplicateKey> findExistingAccounts(UUID companyId, List<ParsedTransaction> chunk) {
+        LocalDate from = null;
+        LocalDate to = null;
+        Set<String> descriptions = new HashSet<>();
+        for (ParsedTransaction tx : chunk) {
+            if (tx.date() == null || tx.description() == null) continue;
+            if (from == null || tx.date().isBefore(from)) from = tx.date();
+            if (to == null || tx.date().isAfter(to)) to = tx.date();
+            descriptions.add(tx.description());
+        }
+        if (descriptions.isEmpty()) return Set.of();
+
+        Set<DuplicateKey> existing = new HashSet<>();
+        for (Object[] row : accountRepository.findDuplicateCandidates(companyId, from, to, descriptions)) {
+            existing.add(DuplicateKey.of((LocalDate) row[0], (BigDecimal) row[1], (String) row[2]));
+        }
+        return existing;
+    }
+
+    private record DuplicateKey(LocalDate date, BigDecimal amount, String description) {
+        // Normaliza a escala para que 100 e 100.00 sejam a mesma chave, como no SQL
+        static DuplicateKey of(LocalDate date, BigDecimal amount, String description) {
+            return new DuplicateKey(date, amount != null ? amount.stripTrailingZeros() : null, description);
+        }
+    }
+
+    private String resolveFilename(MultipartFile file) {
+        return file.getOriginalFilename() != null ? file.getOriginalFilename() : "extrato";
+    }
+
+    private BankStatementParser parserFor(BankImportFileType fileType) {
+        return switch (fileType) {
+            case OFX -> ofxParser;
+            case CSV -> csvParser;
+            case PDF -> pdfParser;
+        };
+    }
+
     private BankImportFileType detectFileType(String filename) {
         String lower = filename.toLowerCase();
         if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) return BankImportFileType.OFX;
@@ -235,33 +538,10 @@ public class BankImportServiceImpl implements BankImportService {
         throw new BusinessRuleException("Formato de arquivo nao suportado. Use OFX, CSV ou PDF.");
     }
 
-    private void applyMatchingRules(BankImportItem item, List<SupplierMatchRule> rules,
-                                    String description, UUID companyId) {
-        String descLower = description.toLowerCase();
-        for (SupplierMatchRule rule : rules) {
-            if (descLower.contains(rule.getPattern().toLowerCase())) {
-                item.setSupplierId(rule.getSupplierId());
-                if (rule.getCategoryId() != null) item.setCategoryId(rule.getCategoryId());
-                return;
-            }
-        }
-        // Fallback: tenta matching por nome de fornecedor/cliente
-        applyNameBasedMatching(item, description, companyId);
-    }
-
-    private void applyNameBasedMatching(BankImportItem item, String description, UUID companyId) {
-        String descLower = description.toLowerCase();
-        if (item.getAccountType() == AccountType.PAYABLE) {
-            supplierRepository.findByCompanyIdAndActiveTrue(companyId).stream()
-                .filter(s -> descLower.contains(s.getName().toLowerCase()))
-                .findFirst()
-                .ifPresent(s -> item.setSupplierId(s.getId()));
-        } else {
-            clientRepository.findByCompanyIdAndActiveTrue(companyId).stream()
-                .filter(c -> descLower.contains(c.getName().toLowerCase()))
-                .findFirst()
-                .ifPresent(c -> item.setSupplierId(c.getId()));
-        }
+    private void applyMatch(BankImportItem item, SupplierMatcher.Match match) {
+        if (match == null) return;
+        item.setSupplierId(match.counterpartyId());
+        if (match.categoryId() != null) item.setCategoryId(match.categoryId());
     }
 
     private String normalizePattern(String description) {
@@ -275,43 +555,62 @@ public class BankImportServiceImpl implements BankImportService {
     }
 
     private void assertEditable(BankImport bankImport) {
+        if (bankImport.getStatus() == BankImportStatus.PROCESSING) {
+            throw new BusinessRuleException("Esta importacao ainda esta sendo processada.");
+        }
         if (bankImport.getStatus() != BankImportStatus.PENDING_REVIEW) {
             throw new BusinessRuleException(
                 "Esta importacao nao pode ser editada pois ja foi confirmada ou cancelada.");
         }
     }
 
-    private BankImportResponseDTO toResponseDTO(BankImport bankImport, List<BankImportItem> items,
-                                                UUID companyId) {
-        List<BankImportItemResponseDTO> itemDTOs = items.stream()
-            .map(item -> toItemDTO(item, companyId))
-            .toList();
+    private BankImportResponseDTO toResponseDTO(BankImport bankImport, Page<BankImportItem> items) {
         return new BankImportResponseDTO(
             bankImport.getId(), bankImport.getFileName(),
             bankImport.getFileType().name(), bankImport.getStatus().name(),
-            bankImport.getTotalRecords(), bankImport.getCreatedAt(), itemDTOs
+            bankImport.getTotalRecords(), items.getNumber(), items.getSize(), items.getTotalPages(),
+            bankImport.getCreatedAt(), toItemDTOs(items.getContent())
         );
     }
 
-    private BankImportItemResponseDTO toItemDTO(BankImportItem item, UUID companyId) {
-        String supplierName = null;
-        if (item.getSupplierId() != null) {
-            supplierName = supplierRepository.findById(item.getSupplierId())
-                .map(s -> s.getName())
-                .or(() -> clientRepository.findById(item.getSupplierId()).map(c -> c.getName()))
-                .orElse(null);
+    // Resolve nomes de fornecedor/cliente e categoria com um findAllById por tipo, nao por item
+    private List<BankImportItemResponseDTO> toItemDTOs(List<BankImportItem> items) {
+        if (items.isEmpty()) return List.of();
+
+        Set<UUID> counterpartyIds = new HashSet<>();
+        Set<UUID> categoryIds = new HashSet<>();
+        for (BankImportItem item : items) {
+            if (item.getSupplierId() != null) counterpartyIds.add(item.getSupplierId());
+            if (item.getCategoryId() != null) categoryIds.add(item.getCategoryId());
         }
-        String categoryName = null;
-        if (item.getCategoryId() != null) {
-            categoryName = categoryRepository.findById(item.getCategoryId())
-                .map(c -> c.getName()).orElse(null);
+
+        // supplierId do item guarda fornecedor ou cliente: o que nao for fornecedor e buscado em clientes
+        Map<UUID, String> counterpartyNames = new HashMap<>();
+        if (!counterpartyIds.isEmpty()) {
+            supplierRepository.findAllById(counterpartyIds)
+                .forEach(s -> counterpartyNames.put(s.getId(), s.getName()));
+            Set<UUID> remaining = new HashSet<>(counterpartyIds);
+            remaining.removeAll(counterpartyNames.keySet());
+            if (!remaining.isEmpty()) {
+                clientRepository.findAllById(remaining)
+                    .forEach(c -> counterpartyNames.put(c.getId(), c.getName()));
+            }
         }
-        return new BankImportItemResponseDTO(
-            item.getId(), item.getDate(), item.getDescription(), item.getAmount(),
-            item.getType().name(), item.getAccountType().name(),
-            item.getSupplierId(), supplierName,
-            item.getCategoryId(), categoryName,
-            item.isPossibleDuplicate()
-        );
+
+        Map<UUID, String> categoryNames = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            categoryRepository.findAllById(categoryIds)
+                .forEach(c -> categoryNames.put(c.getId(), c.getName()));
+        }
+
+        return items.stream()
+            .map(item -> new BankImportItemResponseDTO(
+                item.getId(), item.getDate(), item.getDescription(), item.getAmount(),
+                item.getType().name(), item.getAccountType().name(),
+                item.getSupplierId(), counterpartyNames.get(item.getSupplierId()),
+                item.getCategoryId(), categoryNames.get(item.getCategoryId()),
+                item.isPossibleDuplicate()
+            ))
+            .toList();
     }
 }
@@ -0,0 +1,59 @@
+package com.findash.service.impl;
+
+import com.findash.dto.dashboard.*;
+import com.findash.service.DashboardService;
+import com.findash.service.dashboard.DashboardCache;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Fica na frente do DashboardServiceImpl: um acerto no cache nao abre transacao nem usa conexao
+@Service
+@Primary
+public class CachingDashboardService implements DashboardService {
+
+    private final DashboardServiceImpl delegate;
+    private final DashboardCache cache;
+
+    public CachingDashboardService(DashboardServiceImpl delegate, DashboardCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public DashboardSummaryDTO getSummary(UUID companyId, LocalDate from, LocalDate to) {
+        return cache.get(companyId, "summary", from, to, () -> delegate.getSummary(companyId, from, to));
+    }
+
+    @Override
+    public List<CashFlowPointDTO> getCashFlow(UUID companyId, LocalDate from, LocalDate to) {
+        return cache.get(companyId, "cash-flow", from, to, () -> delegate.getCashFlow(companyId, from, to));
+    }
+
+    @Override
+    public List<RevenueExpenseItemDTO> getRevenueExpense(UUID companyId, LocalDate from, LocalDate to) {
+        return cache.get(companyId, "revenue-expense", from, to,
+            () -> delegate.getRevenueExpense(companyId, from, to));
+    }
+
+    @Override
+    public List<MonthlyEvolutionPointDTO> getMonthlyEvolution(UUID companyId, LocalDate from, LocalDate to) {
+        return cache.get(companyId, "monthly-evolution", from, to,
+            () -> delegate.getMonthlyEvolution(companyId, from, to));
+    }
+
+    @Override
+    public DashboardOverviewDTO getOverview(UUID companyId, LocalDate from, LocalDate to) {
+        return cache.get(companyId, "overview", from, to, () -> delegate.getOverview(companyId, from, to));
+    }
+
+    @Override
+    public int rebuildAggregates(UUID companyId) {
+        int rows = delegate.rebuildAggregates(companyId);
+        cache.invalidateCompany(companyId);
+        return rows;
+    }
+}
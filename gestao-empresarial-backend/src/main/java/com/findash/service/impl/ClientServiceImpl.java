@@ -11,6 +11,7 @@ import com.findash.mapper.ClientMapper;
 import com.findash.repository.AccountRepository;
 import com.findash.repository.ClientRepository;
 import com.findash.service.ClientService;
+import com.findash.service.matching.SupplierMatcherCache;
 import com.findash.util.CnpjValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,12 +25,15 @@ public class ClientServiceImpl implements ClientService {
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
     private final AccountRepository accountRepository;
+    private final SupplierMatcherCache matcherCache;
 
     public ClientServiceImpl(ClientRepository clientRepository, ClientMapper clientMapper,
-                             AccountRepository accountRepository) {
+                             AccountRepository accountRepository,
+                             SupplierMatcherCache matcherCache) {
         this.clientRepository = clientRepository;
         this.clientMapper = clientMapper;
         this.accountRepository = accountRepository;
+        this.matcherCache = matcherCache;
     }
 
     @Override
@@ -50,6 +54,7 @@ public class ClientServiceImpl implements ClientService {
         client.setPhone(request.phone());
 
         client = clientRepository.save(client);
+        matcherCache.invalidate(companyId);
         return clientMapper.toResponse(client);
     }
 
@@ -85,6 +90,7 @@ public class ClientServiceImpl implements ClientService {
         client.setPhone(request.phone());
 
         client = clientRepository.save(client);
+        matcherCache.invalidate(companyId);
         return clientMapper.toResponse(client);
     }
 
@@ -97,6 +103,7 @@ public class ClientServiceImpl implements ClientService {
         }
 
         clientRepository.delete(client);
+        matcherCache.invalidate(companyId);
     }
 
     private Client findOrThrow(UUID companyId, UUID clientId) {
@@ -8,6 +8,7 @@ import com.findash.exception.ForbiddenOperationException;
 import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.CompanyMapper;
 import com.findash.repository.*;
+import com.findash.security.CompanyMembershipCache;
 import com.findash.service.CategoryService;
 import com.findash.service.CompanyService;
 import com.findash.util.CnpjValidator;
@@ -28,19 +29,22 @@ public class CompanyServiceImpl implements CompanyService {
     private final UserRepository userRepository;
     private final CompanyMapper companyMapper;
     private final CategoryService categoryService;
+    private final CompanyMembershipCache membershipCache;
 
     public CompanyServiceImpl(CompanyRepository companyRepository,
                               CompanyMemberRepository companyMemberRepository,
                               UserRoleRepository userRoleRepository,
                               UserRepository userRepository,
                               CompanyMapper companyMapper,
-                              CategoryService categoryService) {
+                              CategoryService categoryService,
+                              CompanyMembershipCache membershipCache) {
         this.companyRepository = companyRepository;
         this.companyMemberRepository = companyMemberRepository;
         this.userRoleRepository = userRoleRepository;
         this.userRepository = userRepository;
         this.companyMapper = companyMapper;
         this.categoryService = categoryService;
+        this.membershipCache = membershipCache;
     }
 
     @Override
@@ -86,32 +90,28 @@ public class CompanyServiceImpl implements CompanyService {
     @Override
     @Transactional(readOnly = true)
     public List<CompanyResponseDTO> listUserCompanies(UUID userId) {
-        List<Company> companies = companyRepository.findByMemberUserIdAndStatus(userId, MemberStatus.ACTIVE);
-
-        return companies.stream().map(company -> {
-            UserRole role = userRoleRepository.findByUserIdAndCompanyId(userId, company.getId())
-                    .orElse(null);
-            String roleName = role != null ? role.getRole().name() : null;
-
-            String ownerName = userRepository.findById(company.getOwnerId())
-                    .map(User::getName)
-                    .orElse(null);
-
-            return companyMapper.toCompanyResponse(company, roleName, ownerName);
-        }).toList();
+        // Uma consulta com role e proprietario, nao duas por empresa
+        return companyRepository.findWithRoleAndOwnerByMemberUserIdAndStatus(userId, MemberStatus.ACTIVE)
+                .stream()
+                .map(row -> {
+                    Role role = (Role) row[1];
+                    return companyMapper.toCompanyResponse((Company) row[0],
+                            role != null ? role.name() : null, (String) row[2]);
+                })
+                .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
     public CompanyResponseDTO getCompany(UUID companyId, UUID userId) {
         Company company = findCompanyOrThrow(companyId);
-        UserRole role = requireMembership(userId, companyId);
+        Role role = requireMembership(userId, companyId);
 
         String ownerName = userRepository.findById(company.getOwnerId())
                 .map(User::getName)
                 .orElse(null);
 
-        return companyMapper.toCompanyResponse(company, role.getRole().name(), ownerName);
+        return companyMapper.toCompanyResponse(company, role.name(), ownerName);
     }
 
     @Override
@@ -149,37 +149,24 @@ public class CompanyServiceImpl implements CompanyService {
     @Transactional(readOnly = true)
     public List<CompanyMemberResponseDTO> listMembers(UUID companyId, UUID userId) {
         findCompanyOrThrow(companyId);
-        UserRole callerRole = requireMembership(userId, companyId);
+        Role callerRole = requireMembership(userId, companyId);
 
-        if (callerRole.getRole() == Role.VIEWER) {
+        if (callerRole == Role.VIEWER) {
             throw new ForbiddenOperationException("Viewer nao pode listar membros");
         }
 
-        List<CompanyMember> members = companyMemberRepository
-                .findByCompanyIdAndStatusNot(companyId, MemberStatus.REMOVED);
-
-        return members.stream().map(member -> {
-            String name = null;
-            String email = member.getInvitedEmail();
-            String roleName = null;
-
-            if (member.getUserId() != null) {
-                Optional<User> memberUser = userRepository.findById(member.getUserId());
-                if (memberUser.isPresent()) {
-                    name = memberUser.get().getName();
-                    email = memberUser.get().getEmail();
-                }
-
-                UserRole memberRole = userRoleRepository
-                        .findByUserIdAndCompanyId(member.getUserId(), companyId)
-                        .orElse(null);
-                if (memberRole != null) {
-                    roleName = memberRole.getRole().name();
-                }
-            }
-
-            return companyMapper.toMemberResponse(member, name, email, roleName);
-        }).toList();
+        // Convites pendentes nao tem usuario: ficam com o email do convite e sem role
+        return companyMemberRepository
+                .findWithUserAndRoleByCompanyIdAndStatusNot(companyId, MemberStatus.REMOVED)
+                .stream()
+                .map(row -> {
+                    CompanyMember member = (CompanyMember) row[0];
+                    String email = row[2] != null ? (String) row[2] : member.getInvitedEmail();
+                    Role role = (Role) row[3];
+                    return companyMapper.toMemberResponse(member, (String) row[1], email,
+                            role != null ? role.name() : null);
+                })
+                .toList();
     }
 
     @Override
@@ -252,6 +239,7 @@ public class CompanyServiceImpl implements CompanyService {
 
         memberRole.setRole(request.role());
         userRoleRepository.save(memberRole);
+        membershipCache.invalidate(memberId, companyId);
     }
 
     @Override
@@ -284,6 +272,7 @@ public class CompanyServiceImpl implements CompanyService {
 
         if (targetMember.getUserId() != null) {
             userRoleRepository.deleteByUserIdAndCompanyId(targetMember.getUserId(), companyId);
+            membershipCache.invalidate(targetMember.getUserId(), companyId);
         }
     }
 
@@ -294,15 +283,15 @@ public class CompanyServiceImpl implements CompanyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Company", companyId));
     }
 
-    private UserRole requireMembership(UUID userId, UUID companyId) {
-        return userRoleRepository.findByUserIdAndCompanyId(userId, companyId)
+    private Role requireMembership(UUID userId, UUID companyId) {
+        return membershipCache.resolve(userId, companyId)
                 .orElseThrow(() -> new ForbiddenOperationException(
                         "Usuario nao e membro desta empresa"));
     }
 
-    private UserRole requireAdmin(UUID userId, UUID companyId) {
-        UserRole role = requireMembership(userId, companyId);
-        if (role.getRole() != Role.ADMIN) {
+    private Role requireAdmin(UUID userId, UUID companyId) {
+        Role role = requireMembership(userId, companyId);
+        if (role != Role.ADMIN) {
             throw new ForbiddenOperationException("Apenas administradores podem realizar esta operacao");
         }
         return role;
@@ -3,14 +3,17 @@ package com.findash.service.impl;
 import com.findash.dto.dashboard.*;
 import com.findash.entity.AccountStatus;
 import com.findash.entity.AccountType;
-import com.findash.repository.AccountRepository;
+import com.findash.repository.DashboardDailyTotalRepository;
 import com.findash.service.DashboardService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
 
 @Service
 @Transactional(readOnly = true)
@@ -21,32 +24,79 @@ public class DashboardServiceImpl implements DashboardService {
     private static final List<AccountStatus> PAID_STATUSES =
         List.of(AccountStatus.PAID, AccountStatus.RECEIVED, AccountStatus.PARTIAL);
 
-    private final AccountRepository accountRepository;
+    // Timer por operacao (tag "operation"); so o calculo, acertos do DashboardCache nao chegam aqui
+    private static final String OBSERVATION_NAME = "findash.dashboard";
 
-    public DashboardServiceImpl(AccountRepository accountRepository) {
-        this.accountRepository = accountRepository;
+    private final DashboardDailyTotalRepository totalRepository;
+    private final ObservationRegistry observationRegistry;
+
+    public DashboardServiceImpl(DashboardDailyTotalRepository totalRepository,
+                                ObservationRegistry observationRegistry) {
+        this.totalRepository = totalRepository;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     public DashboardSummaryDTO getSummary(UUID companyId, LocalDate from, LocalDate to) {
-        BigDecimal totalPayable = accountRepository.sumByTypeAndStatuses(
-            companyId, AccountType.PAYABLE, PENDING_STATUSES, from, to);
-        BigDecimal totalReceivable = accountRepository.sumByTypeAndStatuses(
-            companyId, AccountType.RECEIVABLE, List.of(AccountStatus.PENDING), from, to);
-        BigDecimal totalRevenue = accountRepository.sumByTypeAndStatuses(
-            companyId, AccountType.RECEIVABLE, List.of(AccountStatus.RECEIVED), from, to);
-        BigDecimal totalExpenses = accountRepository.sumByTypeAndStatuses(
-            companyId, AccountType.PAYABLE, List.of(AccountStatus.PAID), from, to);
-
-        return new DashboardSummaryDTO(totalPayable, totalReceivable, totalRevenue, totalExpenses);
+        return observe("summary", () -> summary(companyId, from, to));
     }
 
     @Override
     public List<CashFlowPointDTO> getCashFlow(UUID companyId, LocalDate from, LocalDate to) {
+        return observe("cash-flow", () -> cashFlow(companyId, from, to));
+    }
+
+    @Override
+    public List<RevenueExpenseItemDTO> getRevenueExpense(UUID companyId, LocalDate from, LocalDate to) {
+        return observe("revenue-expense", () -> revenueExpense(companyId, from, to));
+    }
+
+    @Override
+    public List<MonthlyEvolutionPointDTO> getMonthlyEvolution(UUID companyId, LocalDate from, LocalDate to) {
+        return observe("monthly-evolution", () -> toMonthlyEvolution(cashFlow(companyId, from, to)));
+    }
+
+    // Resumo, fluxo de caixa, receitas/despesas e evolucao em uma requisicao; a evolucao reaproveita o fluxo
+    @Override
+    public DashboardOverviewDTO getOverview(UUID companyId, LocalDate from, LocalDate to) {
+        return observe("overview", () -> {
+            List<CashFlowPointDTO> cashFlow = cashFlow(companyId, from, to);
+            return new DashboardOverviewDTO(
+                summary(companyId, from, to),
+                cashFlow,
+                revenueExpense(companyId, from, to),
+                toMonthlyEvolution(cashFlow));
+        });
+    }
+
+    @Override
+    @Transactional
+    public int rebuildAggregates(UUID companyId) {
+        return observe("rebuild", () -> {
+            totalRepository.lockForRebuild();
+            totalRepository.deleteByCompanyId(companyId);
+            return totalRepository.rebuildForCompany(companyId);
+        });
+    }
+
+    // --- Consultas ---
+    // Sem observacao propria: o timer fica so no metodo publico chamado, sem aninhar na visao geral
+
+    private DashboardSummaryDTO summary(UUID companyId, LocalDate from, LocalDate to) {
+        List<Object[]> rows = totalRepository.findSummaryTotals(companyId, from, to);
+        if (rows.isEmpty()) {
+            return new DashboardSummaryDTO(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        Object[] totals = rows.get(0);
+        return new DashboardSummaryDTO(
+            (BigDecimal) totals[0], (BigDecimal) totals[1], (BigDecimal) totals[2], (BigDecimal) totals[3]);
+    }
+
+    private List<CashFlowPointDTO> cashFlow(UUID companyId, LocalDate from, LocalDate to) {
         List<AccountStatus> statuses = new ArrayList<>(PENDING_STATUSES);
         statuses.addAll(PAID_STATUSES);
 
-        List<Object[]> rows = accountRepository.findMonthlyTotalsByType(
+        List<Object[]> rows = totalRepository.findMonthlyTotalsByType(
             companyId, statuses, from, to);
 
         Map<String, BigDecimal[]> byMonth = new LinkedHashMap<>();
@@ -67,9 +117,8 @@ public class DashboardServiceImpl implements DashboardService {
             .toList();
     }
 
-    @Override
-    public List<RevenueExpenseItemDTO> getRevenueExpense(UUID companyId, LocalDate from, LocalDate to) {
-        List<Object[]> rows = accountRepository.findRevenueExpenseByCategory(
+    private List<RevenueExpenseItemDTO> revenueExpense(UUID companyId, LocalDate from, LocalDate to) {
+        List<Object[]> rows = totalRepository.findRevenueExpenseByCategory(
             companyId, PAID_STATUSES, from, to);
 
         List<RevenueExpenseItemDTO> result = rows.stream()
@@ -93,10 +142,15 @@ public class DashboardServiceImpl implements DashboardService {
         return finalResult;
     }
 
-    @Override
-    public List<MonthlyEvolutionPointDTO> getMonthlyEvolution(UUID companyId, LocalDate from, LocalDate to) {
-        List<CashFlowPointDTO> cashFlow = getCashFlow(companyId, from, to);
+    // --- Helpers ---
+
+    private <T> T observe(String operation, Supplier<T> query) {
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+            .lowCardinalityKeyValue("operation", operation)
+            .observe(query);
+    }
 
+    private List<MonthlyEvolutionPointDTO> toMonthlyEvolution(List<CashFlowPointDTO> cashFlow) {
         BigDecimal accumulated = BigDecimal.ZERO;
         List<MonthlyEvolutionPointDTO> result = new ArrayList<>();
         for (CashFlowPointDTO point : cashFlow) {
@@ -11,6 +11,7 @@ import com.findash.mapper.SupplierMapper;
 import com.findash.repository.AccountRepository;
 import com.findash.repository.SupplierRepository;
 import com.findash.service.SupplierService;
+import com.findash.service.matching.SupplierMatcherCache;
 import com.findash.util.CnpjValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,12 +25,15 @@ public class SupplierServiceImpl implements SupplierService {
     private final SupplierRepository supplierRepository;
     private final SupplierMapper supplierMapper;
     private final AccountRepository accountRepository;
+    private final SupplierMatcherCache matcherCache;
 
     public SupplierServiceImpl(SupplierRepository supplierRepository, SupplierMapper supplierMapper,
-                               AccountRepository accountRepository) {
+                               AccountRepository accountRepository,
+                               SupplierMatcherCache matcherCache) {
         this.supplierRepository = supplierRepository;
         this.supplierMapper = supplierMapper;
         this.accountRepository = accountRepository;
+        this.matcherCache = matcherCache;
     }
 
     @Override
@@ -50,6 +54,7 @@ public class SupplierServiceImpl implements SupplierService {
         supplier.setPhone(request.phone());
 
         supplier = supplierRepository.save(supplier);
+        matcherCache.invalidate(companyId);
         return supplierMapper.toResponse(supplier);
     }
 
@@ -85,6 +90,7 @@ public class SupplierServiceImpl implements SupplierService {
         supplier.setPhone(request.phone());
 
         supplier = supplierRepository.save(supplier);
+        matcherCache.invalidate(companyId);
         return supplierMapper.toResponse(supplier);
     }
 
@@ -97,6 +103,7 @@ public class SupplierServiceImpl implements SupplierService {
         }
 
         supplierRepository.delete(supplier);
+        matcherCache.invalidate(companyId);
     }
 
     private Supplier findOrThrow(UUID companyId, UUID supplierId) {
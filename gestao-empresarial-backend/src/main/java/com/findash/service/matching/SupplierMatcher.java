@@ -0,0 +1,167 @@
+package com.findash.service.matching;
+
+import com.findash.entity.AccountType;
+import com.findash.entity.Client;
+import com.findash.entity.Supplier;
+import com.findash.entity.SupplierMatchRule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+
+// Automato Aho-Corasick sobre os padroes das regras e os nomes de fornecedores/clientes.
+// Uma unica passada pela descricao encontra todas as ocorrencias; vence a de maior prioridade:
+// regras antes de nomes e, dentro de cada grupo, a ordem em que foram informados.
+public final class SupplierMatcher {
+
+    public record Match(UUID counterpartyId, UUID categoryId) {}
+
+    private static final int RULE = 0;
+    private static final int SUPPLIER = 1;
+    private static final int CLIENT = 2;
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private final List<Map<Character, Integer>> children;
+    private final int[] fail;
+    // best[node][grupo] = menor prioridade entre os padroes que terminam neste no ou em seus sufixos
+    private final int[][] best;
+    private final Match[][] targets;
+
+    private SupplierMatcher(List<Map<Character, Integer>> children, int[] fail, int[][] best,
+                            Match[][] targets) {
+        this.children = children;
+        this.fail = fail;
+        this.best = best;
+        this.targets = targets;
+    }
+
+    public static SupplierMatcher compile(List<SupplierMatchRule> rules,
+                                          List<Supplier> suppliers,
+                                          List<Client> clients) {
+        Builder builder = new Builder();
+        Match[] ruleTargets = new Match[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            SupplierMatchRule rule = rules.get(i);
+            builder.add(rule.getPattern().toLowerCase(), RULE, i);
+            ruleTargets[i] = new Match(rule.getSupplierId(), rule.getCategoryId());
+        }
+        Match[] supplierTargets = new Match[suppliers.size()];
+        for (int i = 0; i < suppliers.size(); i++) {
+            Supplier supplier = suppliers.get(i);
+            builder.add(supplier.getName().toLowerCase(), SUPPLIER, i);
+            supplierTargets[i] = new Match(supplier.getId(), null);
+        }
+        Match[] clientTargets = new Match[clients.size()];
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            builder.add(client.getName().toLowerCase(), CLIENT, i);
+            clientTargets[i] = new Match(client.getId(), null);
+        }
+        return builder.build(new Match[][]{ruleTargets, supplierTargets, clientTargets});
+    }
+
+    public static SupplierMatcher empty() {
+        return compile(List.of(), List.of(), List.of());
+    }
+
+    // Regras valem para qualquer tipo; o fallback por nome usa fornecedores (PAYABLE) ou clientes
+    public Match match(String description, AccountType accountType) {
+        if (description == null) return null;
+
+        String text = description.toLowerCase();
+        int[] found = best[0].clone();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = children.get(state).get(c);
+            while (next == null && state != 0) {
+                state = fail[state];
+                next = children.get(state).get(c);
+            }
+            state = next != null ? next : 0;
+
+            int[] nodeBest = best[state];
+            for (int g = 0; g < found.length; g++) {
+                if (nodeBest[g] < found[g]) found[g] = nodeBest[g];
+            }
+        }
+
+        if (found[RULE] != NONE) return targets[RULE][found[RULE]];
+        int nameGroup = accountType == AccountType.PAYABLE ? SUPPLIER : CLIENT;
+        if (found[nameGroup] != NONE) return targets[nameGroup][found[nameGroup]];
+        return null;
+    }
+
+    private static final class Builder {
+
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<int[]> best = new ArrayList<>();
+
+        Builder() {
+            newNode();
+        }
+
+        void add(String pattern, int group, int priority) {
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = newNode();
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            int[] nodeBest = best.get(node);
+            if (priority < nodeBest[group]) nodeBest[group] = priority;
+        }
+
+        SupplierMatcher build(Match[][] targets) {
+            int size = children.size();
+            int[] fail = new int[size];
+
+            // BFS: o no de falha e mais raso, entao ja tem suas saidas consolidadas
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : children.get(0).values()) {
+                fail[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                int[] fallbackBest = best.get(fail[node]);
+                int[] nodeBest = best.get(node);
+                for (int g = 0; g < nodeBest.length; g++) {
+                    if (fallbackBest[g] < nodeBest[g]) nodeBest[g] = fallbackBest[g];
+                }
+
+                for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                    char c = edge.getKey();
+                    int child = edge.getValue();
+                    int f = fail[node];
+                    Integer target = children.get(f).get(c);
+                    while (target == null && f != 0) {
+                        f = fail[f];
+                        target = children.get(f).get(c);
+                    }
+                    fail[child] = target != null ? target : 0;
+                    queue.add(child);
+                }
+            }
+
+            return new SupplierMatcher(children, fail, best.toArray(new int[0][]), targets);
+        }
+
+        private int newNode() {
+            children.add(new HashMap<>());
+            int[] nodeBest = new int[3];
+            Arrays.fill(nodeBest, NONE);
+            best.add(nodeBest);
+            return children.size() - 1;
+        }
+    }
+}
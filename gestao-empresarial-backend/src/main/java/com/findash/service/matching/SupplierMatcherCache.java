@@ -0,0 +1,91 @@
+package com.findash.service.matching;
+
+import com.findash.repository.ClientRepository;
+import com.findash.repository.SupplierMatchRuleRepository;
+import com.findash.repository.SupplierRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Mantem um SupplierMatcher compilado por empresa. Deve ser invalidado sempre que regras,
+// fornecedores ou clientes da empresa mudarem. A invalidacao so alcanca este no: entre replicas,
+// mudancas valem no maximo apos o TTL.
+@Component
+public class SupplierMatcherCache {
+
+    private static final int MAX_COMPANIES = 256;
+
+    private final SupplierMatchRuleRepository matchRuleRepository;
+    private final SupplierRepository supplierRepository;
+    private final ClientRepository clientRepository;
+    private final long ttlMillis;
+
+    private final Map<UUID, Entry> matchers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > MAX_COMPANIES;
+        }
+    };
+    // Incrementado a cada invalidacao para descartar matchers compilados com dados antigos
+    private long generation;
+
+    public SupplierMatcherCache(SupplierMatchRuleRepository matchRuleRepository,
+                                SupplierRepository supplierRepository,
+                                ClientRepository clientRepository,
+                                @Value("${app.import.matcher-cache-ttl:60s}") Duration ttl) {
+        this.matchRuleRepository = matchRuleRepository;
+        this.supplierRepository = supplierRepository;
+        this.clientRepository = clientRepository;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public SupplierMatcher get(UUID companyId) {
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = matchers.get(companyId);
+            if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+                return cached.matcher();
+            }
+            if (cached != null) matchers.remove(companyId);
+            startGeneration = generation;
+        }
+
+        SupplierMatcher matcher = SupplierMatcher.compile(
+            matchRuleRepository.findByCompanyId(companyId),
+            supplierRepository.findByCompanyIdAndActiveTrue(companyId),
+            clientRepository.findByCompanyIdAndActiveTrue(companyId));
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                matchers.put(companyId, new Entry(matcher, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return matcher;
+    }
+
+    public void invalidate(UUID companyId) {
+        evict(companyId);
+        // Invalida de novo apos o commit para nao reter um matcher montado antes da mudanca ficar visivel
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(companyId);
+                }
+            });
+        }
+    }
+
+    private synchronized void evict(UUID companyId) {
+        generation++;
+        matchers.remove(companyId);
+    }
+
+    private record Entry(SupplierMatcher matcher, long expiresAt) {}
+}
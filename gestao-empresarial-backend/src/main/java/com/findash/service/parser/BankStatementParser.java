@@ -1,8 +1,18 @@
 package com.findash.service.parser;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BankStatementParser {
-    List<ParsedTransaction> parse(InputStream input, String filename) throws Exception;
+
+    // Emite cada transacao assim que ela e lida, sem materializar o extrato inteiro
+    void parse(InputStream input, String filename, Consumer<ParsedTransaction> consumer) throws Exception;
+
+    default List<ParsedTransaction> parse(InputStream input, String filename) throws Exception {
+        List<ParsedTransaction> result = new ArrayList<>();
+        parse(input, filename, result::add);
+        return result;
+    }
 }
@@ -6,55 +6,64 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 @Component
 public class CsvParser implements BankStatementParser {
 
     // Colunas esperadas pelo template padrao
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String[] STANDARD_COLUMNS = {"data", "descricao", "valor", "tipo"};
+
+    // Amostra do inicio do arquivo usada para detectar charset e separador
+    private static final int SAMPLE_SIZE = 64 * 1024;
 
     @Override
-    public List<ParsedTransaction> parse(InputStream input, String filename) throws Exception {
-        byte[] bytes = input.readAllBytes();
+    public void parse(InputStream input, String filename, Consumer<ParsedTransaction> consumer) throws Exception {
+        BufferedInputStream buffered = new BufferedInputStream(input, SAMPLE_SIZE);
+        buffered.mark(SAMPLE_SIZE);
+        byte[] sample = buffered.readNBytes(SAMPLE_SIZE);
+        buffered.reset();
 
-        // Tenta UTF-8 primeiro, depois ISO-8859-1
-        for (Charset charset : List.of(StandardCharsets.UTF_8, Charset.forName("ISO-8859-1"))) {
-            try {
-                return tryParse(bytes, charset);
-            } catch (Exception ignored) {}
+        if (sample.length == 0) {
+            throw unrecognizedFormat();
         }
 
-        throw new BusinessRuleException(
-            "Nao foi possivel reconhecer o formato do arquivo CSV. " +
-            "Por favor, utilize o template padrao disponivel para download."
-        );
-    }
-
-    private List<ParsedTransaction> tryParse(byte[] bytes, Charset charset) throws Exception {
-        BufferedReader reader = new BufferedReader(
-            new InputStreamReader(new ByteArrayInputStream(bytes), charset));
-
-        // Auto-detect separador: tenta ; depois ,
-        String firstLine = reader.readLine();
-        if (firstLine == null) throw new IllegalArgumentException("Arquivo vazio");
+        // UTF-8 se a amostra for valida, senao ISO-8859-1
+        Charset charset = isUtf8(sample) ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
 
+        // Auto-detect separador pela primeira linha: tenta ; depois ,
+        String sampleText = new String(sample, charset);
+        int firstLineEnd = sampleText.indexOf('\n');
+        String firstLine = firstLineEnd >= 0 ? sampleText.substring(0, firstLineEnd) : sampleText;
         char separator = firstLine.contains(";") ? ';' : ',';
 
-        // Reinicia o reader
-        reader = new BufferedReader(
-            new InputStreamReader(new ByteArrayInputStream(bytes), charset));
+        // Template padrao: leitura direta dos bytes, sem commons-csv
+        String[] standardHeaders = standardHeaders(firstLine, separator);
+        if (standardHeaders != null) {
+            if (parseStandard(buffered, charset, separator, standardHeaders, consumer) == 0) {
+                throw unrecognizedFormat();
+            }
+            return;
+        }
 
         CSVFormat format = CSVFormat.DEFAULT.builder()
             .setDelimiter(separator)
@@ -64,40 +73,187 @@ public class CsvParser implements BankStatementParser {
             .setTrim(true)
             .build();
 
-        List<ParsedTransaction> result = new ArrayList<>();
-        try (CSVParser parser = CSVParser.parse(reader, format)) {
+        int count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(buffered, charset));
+        try (CSVParser parser = openParser(reader, format)) {
             // Valida que tem as colunas esperadas
             var headers = parser.getHeaderNames().stream()
                 .map(String::toLowerCase).toList();
             boolean hasRequiredColumns = headers.contains("data") &&
                 headers.contains("descricao") && headers.contains("valor");
             if (!hasRequiredColumns) {
-                throw new IllegalArgumentException("Colunas obrigatorias nao encontradas");
+                throw unrecognizedFormat();
+            }
+            boolean hasType = headers.contains("tipo");
+
+            Iterator<CSVRecord> records = parser.iterator();
+            while (true) {
+                ParsedTransaction tx;
+                try {
+                    if (!records.hasNext()) break;
+                    tx = toTransaction(records.next(), hasType);
+                } catch (RuntimeException e) {
+                    throw unrecognizedFormat();
+                }
+                consumer.accept(tx);
+                count++;
+            }
+        }
+
+        if (count == 0) {
+            throw unrecognizedFormat();
+        }
+    }
+
+    private int parseStandard(InputStream input, Charset charset, char separator,
+                              String[] headers, Consumer<ParsedTransaction> consumer) throws Exception {
+        StandardCsvScanner scanner = new StandardCsvScanner(input, charset, separator);
+        scanner.nextRow(); // cabecalho
+        boolean hasType = headers.length == 4;
+
+        int count = 0;
+        while (scanner.nextRow()) {
+            ParsedTransaction tx;
+            try {
+                tx = toTransaction(scanner, headers, hasType);
+            } catch (RuntimeException e) {
+                throw unrecognizedFormat();
+            }
+            consumer.accept(tx);
+            count++;
+        }
+        return count;
+    }
+
+    // Cabecalhos originais se a linha for exatamente data;descricao;valor[;tipo], senao null
+    private String[] standardHeaders(String firstLine, char separator) {
+        if (firstLine.indexOf('"') >= 0) return null;
+        String[] headers = firstLine.split(Pattern.quote(String.valueOf(separator)), -1);
+        if (headers.length != 3 && headers.length != 4) return null;
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = headers[i].trim();
+            if (!STANDARD_COLUMNS[i].equalsIgnoreCase(headers[i])) return null;
+        }
+        return headers;
+    }
+
+    private ParsedTransaction toTransaction(StandardCsvScanner scanner, String[] headers, boolean hasType) {
+        if (scanner.fieldCount() < headers.length) {
+            throw new IllegalArgumentException("Linha com colunas faltando");
+        }
+
+        LocalDate date = parseIsoDate(scanner, 0);
+        String description = scanner.string(1);
+        long cents = parseCents(scanner, 2);
+        BigDecimal amount = cents != Long.MIN_VALUE
+            ? BigDecimal.valueOf(Math.abs(cents), 2)
+            : new BigDecimal(scanner.string(2).replace(",", ".")).abs();
+        String type = hasType && scanner.equalsIgnoreCase(3, "CREDIT") ? "CREDIT" : "DEBIT";
+
+        return new ParsedTransaction(date, description, amount, type,
+            Map.of("raw", scanner.rawRow(headers)));
+    }
+
+    // yyyy-MM-dd lido digito a digito; qualquer outra forma passa pelo DateTimeFormatter
+    private LocalDate parseIsoDate(StandardCsvScanner scanner, int field) {
+        if (scanner.length(field) == 10
+                && scanner.byteAt(field, 4) == '-' && scanner.byteAt(field, 7) == '-') {
+            int year = digits(scanner, field, 0, 4);
+            int month = digits(scanner, field, 5, 2);
+            int day = digits(scanner, field, 8, 2);
+            if (year >= 0 && month >= 1 && month <= 12
+                    && day >= 1 && day <= Month.of(month).length(Year.isLeap(year))) {
+                return LocalDate.of(year, month, day);
             }
+        }
+        return LocalDate.parse(scanner.string(field), DATE_FORMAT);
+    }
+
+    private boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private int digits(StandardCsvScanner scanner, int field, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int d = scanner.byteAt(field, i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    // Valor em centavos para [-+]digitos[.|,]d[d]; Long.MIN_VALUE quando precisa do parse completo
+    private long parseCents(StandardCsvScanner scanner, int field) {
+        int length = scanner.length(field);
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (scanner.byteAt(field, i) == '-' || scanner.byteAt(field, i) == '+')) {
+            negative = scanner.byteAt(field, i) == '-';
+            i++;
+        }
+
+        long units = 0;
+        int intDigits = 0;
+        while (i < length && isDigit(scanner.byteAt(field, i))) {
+            if (++intDigits > 15) return Long.MIN_VALUE;
+            units = units * 10 + (scanner.byteAt(field, i++) - '0');
+        }
 
-            for (CSVRecord record : parser) {
-                String rawDate = record.get("data").trim();
-                String description = record.get("descricao").trim();
-                String rawAmount = record.get("valor").trim()
-                    .replace(",", ".");
-                String tipo = headers.contains("tipo") ?
-                    record.get("tipo").trim().toUpperCase() : "DEBIT";
-
-                LocalDate date = LocalDate.parse(rawDate, DATE_FORMAT);
-                BigDecimal amount = new BigDecimal(rawAmount).abs();
-                String type = "CREDIT".equals(tipo) ? "CREDIT" : "DEBIT";
-
-                result.add(new ParsedTransaction(
-                    date, description, amount, type,
-                    Map.of("raw", record.toMap())
-                ));
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < length && (scanner.byteAt(field, i) == '.' || scanner.byteAt(field, i) == ',')) {
+            i++;
+            while (i < length && isDigit(scanner.byteAt(field, i))) {
+                if (++fractionDigits > 2) return Long.MIN_VALUE;
+                fraction = fraction * 10 + (scanner.byteAt(field, i++) - '0');
             }
+            if (fractionDigits == 0) return Long.MIN_VALUE;
         }
+        if (i != length || intDigits == 0) return Long.MIN_VALUE;
+
+        if (fractionDigits == 1) fraction *= 10;
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
 
-        if (result.isEmpty()) {
-            throw new IllegalArgumentException("Nenhuma transacao encontrada");
+    private CSVParser openParser(BufferedReader reader, CSVFormat format) {
+        try {
+            return CSVParser.parse(reader, format);
+        } catch (Exception e) {
+            throw unrecognizedFormat();
         }
+    }
+
+    private ParsedTransaction toTransaction(CSVRecord record, boolean hasType) {
+        String rawDate = record.get("data").trim();
+        String description = record.get("descricao").trim();
+        String rawAmount = record.get("valor").trim()
+            .replace(",", ".");
+        String tipo = hasType ? record.get("tipo").trim().toUpperCase() : "DEBIT";
+
+        LocalDate date = LocalDate.parse(rawDate, DATE_FORMAT);
+        BigDecimal amount = new BigDecimal(rawAmount).abs();
+        String type = "CREDIT".equals(tipo) ? "CREDIT" : "DEBIT";
+
+        return new ParsedTransaction(
+            date, description, amount, type,
+            Map.of("raw", record.toMap())
+        );
+    }
+
+    private boolean isUtf8(byte[] sample) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // endOfInput=false: a amostra pode cortar um caractere multibyte no final
+        return !decoder.decode(ByteBuffer.wrap(sample), CharBuffer.allocate(sample.length), false).isError();
+    }
 
-        return result;
+    private BusinessRuleException unrecognizedFormat() {
+        return new BusinessRuleException(
+            "Nao foi possivel reconhecer o formato do arquivo CSV. " +
+            "Por favor, utilize o template padrao disponivel para download."
+        );
     }
 }
@@ -12,15 +12,14 @@ import org.springframework.stereotype.Component;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 public class OfxParser implements BankStatementParser {
 
     @Override
-    public List<ParsedTransaction> parse(InputStream input, String filename) throws Exception {
+    public void parse(InputStream input, String filename, Consumer<ParsedTransaction> consumer) throws Exception {
         AggregateUnmarshaller<ResponseEnvelope> unmarshaller =
             new AggregateUnmarshaller<>(ResponseEnvelope.class);
         ResponseEnvelope envelope = unmarshaller.unmarshal(input);
@@ -30,7 +29,6 @@ public class OfxParser implements BankStatementParser {
             throw new IllegalArgumentException("Arquivo OFX nao contem transacoes bancarias");
         }
 
-        List<ParsedTransaction> result = new ArrayList<>();
         BankingResponseMessageSet bankingMessageSet = (BankingResponseMessageSet) bankMessages;
 
         for (var responseTransaction : bankingMessageSet.getStatementResponses()) {
@@ -48,13 +46,12 @@ public class OfxParser implements BankStatementParser {
                     .toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
                 String description = tx.getMemo() != null ? tx.getMemo() : tx.getName();
 
-                result.add(new ParsedTransaction(
+                consumer.accept(new ParsedTransaction(
                     date, description, amount, type,
                     Map.of("fitid", tx.getId() != null ? tx.getId() : "",
                            "memo", description != null ? description : "")
                 ));
             }
         }
-        return result;
     }
 }
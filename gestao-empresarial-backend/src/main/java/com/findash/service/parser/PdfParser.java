@@ -1,19 +1,31 @@
 package com.findash.service.parser;
 
 import com.findash.exception.BusinessRuleException;
+import jakarta.annotation.PreDestroy;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,33 +41,139 @@ public class PdfParser implements BankStatementParser {
     private static final Pattern AMOUNT_PATTERN = Pattern.compile(
             "(-?)\\s*(?:R\\$\\s*)?(-?)(\\d{1,3}(?:\\.\\d{3})*,\\d{2})\\s*([CDcd])?\\s*$");
 
-    @Override
-    public List<ParsedTransaction> parse(InputStream input, String filename) throws Exception {
-        String text;
-        try (PDDocument doc = Loader.loadPDF(input.readAllBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            text = stripper.getText(doc);
-        }
+    // Faixa de paginas extraida por tarefa; documentos menores que isso sao extraidos na thread chamadora
+    private static final int PAGES_PER_TASK = 8;
 
-        List<ParsedTransaction> transactions = new ArrayList<>();
-        String[] lines = text.split("\\r?\\n");
+    // Extratos reais ficam bem abaixo disso; o limite barra o arquivo antes de ir para o disco
+    private static final long MAX_PDF_BYTES = 50L * 1024 * 1024;
+
+    // Pool proprio para nao disputar o commonPool com streams paralelos da aplicacao
+    private final ForkJoinPool extractionPool = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final long maxBytes;
+
+    public PdfParser() {
+        this(MAX_PDF_BYTES);
+    }
+
+    PdfParser(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
 
-        for (String line : lines) {
-            ParsedTransaction tx = tryParseLine(line);
-            if (tx != null) {
-                transactions.add(tx);
+    @Override
+    public void parse(InputStream input, String filename, Consumer<ParsedTransaction> consumer) throws Exception {
+        // O PDF vai para um arquivo temporario e nao para o heap: o PDFBox le do arquivo sob demanda
+        Path pdf = spoolToTempFile(input);
+        int count;
+        try {
+            int pages;
+            try (PDDocument doc = Loader.loadPDF(new RandomAccessReadBufferedFile(pdf.toFile()))) {
+                pages = doc.getNumberOfPages();
+                count = pages <= PAGES_PER_TASK ? emit(extractRange(doc, 1, pages), consumer) : 0;
             }
+            if (pages > PAGES_PER_TASK) {
+                count = extractInParallel(pdf, pages, consumer);
+            }
+        } finally {
+            Files.deleteIfExists(pdf);
         }
 
-        if (transactions.isEmpty()) {
+        if (count == 0) {
             throw new BusinessRuleException(
                     "Nao foi possivel extrair transacoes deste PDF. " +
                     "Tente exportar o extrato do seu banco em formato OFX ou CSV.");
         }
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        extractionPool.shutdownNow();
+    }
+
+    // Mantem no maximo uma janela de faixas em andamento e emite os resultados na ordem das paginas.
+    // Cada tarefa abre seu proprio PDDocument (nao e thread-safe) sobre o mesmo arquivo temporario.
+    private int extractInParallel(Path pdf, int pages, Consumer<ParsedTransaction> consumer) throws Exception {
+        int window = extractionPool.getParallelism() * 2;
+        Deque<ForkJoinTask<List<ParsedTransaction>>> inFlight = new ArrayDeque<>();
+        int nextPage = 1;
+        int count = 0;
+        try {
+            while (nextPage <= pages || !inFlight.isEmpty()) {
+                while (nextPage <= pages && inFlight.size() < window) {
+                    int start = nextPage;
+                    int end = Math.min(pages, start + PAGES_PER_TASK - 1);
+                    inFlight.addLast(extractionPool.submit(() -> {
+                        try (PDDocument doc = Loader.loadPDF(new RandomAccessReadBufferedFile(pdf.toFile()))) {
+                            return extractRange(doc, start, end);
+                        }
+                    }));
+                    nextPage = end + 1;
+                }
+                count += emit(join(inFlight.removeFirst()), consumer);
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        return count;
+    }
+
+    private Path spoolToTempFile(InputStream input) throws IOException {
+        Path file = Files.createTempFile("findash-pdf-", ".pdf");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new BusinessRuleException(
+                            "O PDF excede o tamanho maximo de " + (maxBytes / (1024 * 1024)) + " MB.");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    // Extracao e parse das linhas na mesma passada, sem guardar o texto das paginas
+    private List<ParsedTransaction> extractRange(PDDocument doc, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        List<ParsedTransaction> transactions = new ArrayList<>();
+        for (int page = startPage; page <= endPage; page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            String text = stripper.getText(doc);
+            int lineStart = 0;
+            while (lineStart < text.length()) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                if (lineEnd < 0) lineEnd = text.length();
+                int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                ParsedTransaction tx = tryParseLine(text.substring(lineStart, contentEnd));
+                if (tx != null) transactions.add(tx);
+                lineStart = lineEnd + 1;
+            }
+        }
         return transactions;
     }
 
+    private int emit(List<ParsedTransaction> transactions, Consumer<ParsedTransaction> consumer) {
+        transactions.forEach(consumer);
+        return transactions.size();
+    }
+
+    private List<ParsedTransaction> join(ForkJoinTask<List<ParsedTransaction>> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
     private ParsedTransaction tryParseLine(String line) {
         if (line == null || line.isBlank()) return null;
 
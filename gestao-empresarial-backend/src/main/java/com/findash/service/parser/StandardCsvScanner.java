@@ -0,0 +1,204 @@
+package com.findash.service.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Le o CSV direto dos bytes, uma linha por vez, reaproveitando o mesmo buffer entre linhas.
+// Separador, aspas e quebras de linha sao ASCII tanto em UTF-8 quanto em ISO-8859-1.
+final class StandardCsvScanner {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream input;
+    private final Charset charset;
+    private final byte separator;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Linha atual ja sem aspas; os campos sao faixas [fieldStart, fieldEnd) ja sem espacos nas pontas
+    private byte[] row = new byte[512];
+    private int rowLength;
+    private int[] fieldStart = new int[8];
+    private int[] fieldEnd = new int[8];
+    private int fieldCount;
+
+    StandardCsvScanner(InputStream input, Charset charset, char separator) {
+        this.input = input;
+        this.charset = charset;
+        this.separator = (byte) separator;
+    }
+
+    // Avanca para a proxima linha nao vazia; false no fim do arquivo
+    boolean nextRow() throws IOException {
+        while (readRow()) {
+            if (fieldCount > 1 || fieldEnd[0] > fieldStart[0]) return true;
+        }
+        return false;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    int length(int field) {
+        return fieldEnd[field] - fieldStart[field];
+    }
+
+    byte byteAt(int field, int index) {
+        return row[fieldStart[field] + index];
+    }
+
+    String string(int field) {
+        return new String(row, fieldStart[field], length(field), charset);
+    }
+
+    boolean equalsIgnoreCase(int field, String ascii) {
+        int length = length(field);
+        if (length != ascii.length()) return false;
+        for (int i = 0; i < length; i++) {
+            int b = row[fieldStart[field] + i];
+            if (b >= 'a' && b <= 'z') b -= 'a' - 'A';
+            int c = ascii.charAt(i);
+            if (c >= 'a' && c <= 'z') c -= 'a' - 'A';
+            if (b != c) return false;
+        }
+        return true;
+    }
+
+    // Copia compacta da linha atual; o mapa so e montado quando alguem le o conteudo
+    Map<String, Object> rawRow(String[] headers) {
+        int fields = Math.min(fieldCount, headers.length);
+        int from = fieldStart[0];
+        int to = fieldEnd[fields - 1];
+        int[] starts = new int[fields];
+        int[] ends = new int[fields];
+        for (int i = 0; i < fields; i++) {
+            starts[i] = fieldStart[i] - from;
+            ends[i] = fieldEnd[i] - from;
+        }
+        return new LazyRow(headers, Arrays.copyOfRange(row, from, to), starts, ends, charset);
+    }
+
+    private boolean readRow() throws IOException {
+        rowLength = 0;
+        fieldCount = 0;
+        int b = read();
+        if (b < 0) return false;
+
+        beginField();
+        boolean quoted = false;
+        while (true) {
+            if (b < 0) {
+                endField();
+                return true;
+            }
+            if (quoted) {
+                if (b == '"') {
+                    if (peek() == '"') {
+                        read();
+                        append(b);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(b);
+                }
+            } else if (b == '"') {
+                quoted = true;
+            } else if (b == separator) {
+                endField();
+                beginField();
+            } else if (b == '\n') {
+                endField();
+                return true;
+            } else if (b == '\r') {
+                if (peek() == '\n') read();
+                endField();
+                return true;
+            } else {
+                append(b);
+            }
+            b = read();
+        }
+    }
+
+    private void beginField() {
+        if (fieldCount == fieldStart.length) {
+            fieldStart = Arrays.copyOf(fieldStart, fieldCount * 2);
+            fieldEnd = Arrays.copyOf(fieldEnd, fieldCount * 2);
+        }
+        fieldStart[fieldCount] = rowLength;
+    }
+
+    // Fecha o campo aplicando o mesmo trim do formato CSV
+    private void endField() {
+        int start = fieldStart[fieldCount];
+        int end = rowLength;
+        while (start < end && (row[start] & 0xFF) <= ' ') start++;
+        while (end > start && (row[end - 1] & 0xFF) <= ' ') end--;
+        fieldStart[fieldCount] = start;
+        fieldEnd[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void append(int b) {
+        if (rowLength == row.length) row = Arrays.copyOf(row, rowLength * 2);
+        row[rowLength++] = (byte) b;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int read = input.read(buffer, 0, buffer.length);
+        if (read <= 0) return false;
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private static final class LazyRow extends AbstractMap<String, Object> {
+        private final String[] headers;
+        private final byte[] bytes;
+        private final int[] starts;
+        private final int[] ends;
+        private final Charset charset;
+        private Map<String, Object> values;
+
+        LazyRow(String[] headers, byte[] bytes, int[] starts, int[] ends, Charset charset) {
+            this.headers = headers;
+            this.bytes = bytes;
+            this.starts = starts;
+            this.ends = ends;
+            this.charset = charset;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (values == null) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < starts.length; i++) {
+                    map.put(headers[i], new String(bytes, starts[i], ends[i] - starts[i], charset));
+                }
+                values = Collections.unmodifiableMap(map);
+            }
+            return values.entrySet();
+        }
+    }
+}
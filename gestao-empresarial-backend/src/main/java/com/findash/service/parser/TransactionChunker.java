@@ -0,0 +1,41 @@
+package com.findash.service.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Agrupa as transacoes emitidas por um parser em lotes de tamanho fixo
+public class TransactionChunker implements Consumer<ParsedTransaction> {
+
+    private final int chunkSize;
+    private final Consumer<List<ParsedTransaction>> chunkHandler;
+    private final List<ParsedTransaction> buffer;
+    private int total;
+
+    public TransactionChunker(int chunkSize, Consumer<List<ParsedTransaction>> chunkHandler) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize deve ser maior que zero");
+        }
+        this.chunkSize = chunkSize;
+        this.chunkHandler = chunkHandler;
+        this.buffer = new ArrayList<>(chunkSize);
+    }
+
+    @Override
+    public void accept(ParsedTransaction transaction) {
+        buffer.add(transaction);
+        if (buffer.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    public void flush() {
+        if (buffer.isEmpty()) return;
+        List<ParsedTransaction> chunk = List.copyOf(buffer);
+        buffer.clear();
+        total += chunk.size();
+        chunkHandler.accept(chunk);
+    }
+
+    public int getTotal() { return total; }
+}
@@ -0,0 +1,104 @@
+package com.findash.service.recurrence;
+
+import com.findash.entity.Account;
+import com.findash.entity.AccountStatus;
+import com.findash.entity.Recurrence;
+import com.findash.event.AccountsChangedEvent;
+import com.findash.repository.AccountRepository;
+import com.findash.repository.RecurrenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Gera as ocorrencias de recorrencias lazy ate hoje + horizonte, a partir de next_due_date.
+// O modelo de cada nova conta e a ultima ocorrencia ja criada da recorrencia.
+@Component
+public class RecurrenceMaterializer {
+
+    private static final int MAX_OCCURRENCES_PER_RUN = 500;
+
+    private final AccountRepository accountRepository;
+    private final RecurrenceRepository recurrenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int horizonDays;
+
+    public RecurrenceMaterializer(AccountRepository accountRepository,
+                                  RecurrenceRepository recurrenceRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.recurrence.horizon-days:90}") int horizonDays) {
+        this.accountRepository = accountRepository;
+        this.recurrenceRepository = recurrenceRepository;
+        this.eventPublisher = eventPublisher;
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate horizon() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    // Materializa um lote de recorrencias vencidas; retorna quantas foram processadas
+    @Transactional
+    public int materializeNextBatch(int batchSize) {
+        List<Recurrence> due = recurrenceRepository.findByNextDueDateLessThanEqualOrderByNextDueDate(
+            horizon(), PageRequest.of(0, batchSize));
+        for (Recurrence recurrence : due) {
+            accountRepository.findFirstByRecurrenceIdOrderByDueDateDesc(recurrence.getId())
+                .ifPresentOrElse(
+                    template -> materialize(recurrence, template),
+                    () -> recurrence.setNextDueDate(null));
+        }
+        return due.size();
+    }
+
+    // A primeira ocorrencia sempre e criada, mesmo alem do horizonte
+    @Transactional
+    public List<Account> materialize(Recurrence recurrence, Account template) {
+        LocalDate horizon = horizon();
+        LocalDate date = recurrence.getNextDueDate();
+        int generated = recurrence.getGeneratedCount();
+
+        List<Account> accounts = new ArrayList<>();
+        while (date != null && !isFinished(recurrence, date, generated)
+                && accounts.size() < MAX_OCCURRENCES_PER_RUN
+                && (generated == 0 || !date.isAfter(horizon))) {
+            accounts.add(occurrence(template, recurrence, date));
+            generated++;
+            date = recurrence.getFrequency().next(date);
+        }
+
+        recurrence.setGeneratedCount(generated);
+        recurrence.setNextDueDate(date == null || isFinished(recurrence, date, generated) ? null : date);
+        recurrenceRepository.save(recurrence);
+        if (accounts.isEmpty()) return accounts;
+
+        List<Account> saved = accountRepository.saveAll(accounts);
+        eventPublisher.publishEvent(AccountsChangedEvent.of(recurrence.getCompanyId(),
+            accounts.get(0).getDueDate(), accounts.get(accounts.size() - 1).getDueDate()));
+        return saved;
+    }
+
+    private boolean isFinished(Recurrence recurrence, LocalDate date, int generated) {
+        if (recurrence.getEndDate() != null && date.isAfter(recurrence.getEndDate())) return true;
+        return recurrence.getMaxOccurrences() != null && generated >= recurrence.getMaxOccurrences();
+    }
+
+    private Account occurrence(Account template, Recurrence recurrence, LocalDate dueDate) {
+        Account account = new Account(template.getCompanyId(), template.getType(), template.getDescription(),
+            template.getAmount(), dueDate, template.getCategoryId());
+        account.setSupplierId(template.getSupplierId());
+        account.setClientId(template.getClientId());
+        account.setRecurrenceId(recurrence.getId());
+        account.setNotes(template.getNotes());
+        account.setCreatedBy(template.getCreatedBy());
+        if (dueDate.isBefore(LocalDate.now())) {
+            account.setStatus(AccountStatus.OVERDUE);
+        }
+        return account;
+    }
+}
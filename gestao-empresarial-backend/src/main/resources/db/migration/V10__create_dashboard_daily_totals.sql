@@ -0,0 +1,84 @@
+-- Incremental dashboard aggregates: one row per company/day/type/status/category.
+-- Kept in sync by statement-level triggers on accounts, so every write path
+-- (JPA saves, bulk UPDATEs, imports) updates the totals in the same transaction.
+CREATE TABLE financial_schema.dashboard_daily_totals (
+    id          UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id  UUID NOT NULL,
+    bucket_date DATE NOT NULL,
+    type        VARCHAR(10) NOT NULL,
+    status      VARCHAR(10) NOT NULL,
+    category_id UUID NOT NULL,
+    total       DECIMAL(17, 2) NOT NULL DEFAULT 0,
+    entries     INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_dashboard_daily_totals
+        UNIQUE (company_id, bucket_date, type, status, category_id)
+);
+
+-- Backfill from existing accounts
+INSERT INTO financial_schema.dashboard_daily_totals
+    (company_id, bucket_date, type, status, category_id, total, entries)
+SELECT company_id, due_date, type, status, category_id, SUM(amount), COUNT(*)
+FROM financial_schema.accounts
+WHERE active
+GROUP BY company_id, due_date, type, status, category_id;
+
+-- Applies the net delta of the statement's old/new rows. Rows that drop to zero
+-- entries are kept (they sum to 0) and pruned by the rebuild command.
+CREATE FUNCTION financial_schema.accounts_dashboard_totals() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO financial_schema.dashboard_daily_totals AS t
+            (company_id, bucket_date, type, status, category_id, total, entries)
+        SELECT company_id, due_date, type, status, category_id, SUM(amount), COUNT(*)
+        FROM new_rows
+        WHERE active
+        GROUP BY company_id, due_date, type, status, category_id
+        ORDER BY company_id, due_date, type, status, category_id
+        ON CONFLICT (company_id, bucket_date, type, status, category_id)
+        DO UPDATE SET total = t.total + EXCLUDED.total, entries = t.entries + EXCLUDED.entries;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO financial_schema.dashboard_daily_totals AS t
+            (company_id, bucket_date, type, status, category_id, total, entries)
+        SELECT company_id, due_date, type, status, category_id, -SUM(amount), -COUNT(*)
+        FROM old_rows
+        WHERE active
+        GROUP BY company_id, due_date, type, status, category_id
+        ORDER BY company_id, due_date, type, status, category_id
+        ON CONFLICT (company_id, bucket_date, type, status, category_id)
+        DO UPDATE SET total = t.total + EXCLUDED.total, entries = t.entries + EXCLUDED.entries;
+    ELSE
+        INSERT INTO financial_schema.dashboard_daily_totals AS t
+            (company_id, bucket_date, type, status, category_id, total, entries)
+        SELECT company_id, due_date, type, status, category_id, SUM(amount), SUM(entries)
+        FROM (
+            SELECT company_id, due_date, type, status, category_id, -amount AS amount, -1 AS entries
+            FROM old_rows WHERE active
+            UNION ALL
+            SELECT company_id, due_date, type, status, category_id, amount, 1
+            FROM new_rows WHERE active
+        ) delta
+        GROUP BY company_id, due_date, type, status, category_id
+        HAVING SUM(amount) <> 0 OR SUM(entries) <> 0
+        ORDER BY company_id, due_date, type, status, category_id
+        ON CONFLICT (company_id, bucket_date, type, status, category_id)
+        DO UPDATE SET total = t.total + EXCLUDED.total, entries = t.entries + EXCLUDED.entries;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_accounts_dashboard_totals_insert
+    AFTER INSERT ON financial_schema.accounts
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION financial_schema.accounts_dashboard_totals();
+
+CREATE TRIGGER trg_accounts_dashboard_totals_update
+    AFTER UPDATE ON financial_schema.accounts
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION financial_schema.accounts_dashboard_totals();
+
+CREATE TRIGGER trg_accounts_dashboard_totals_delete
+    AFTER DELETE ON financial_schema.accounts
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION financial_schema.accounts_dashboard_totals();
@@ -0,0 +1,5 @@
+-- Keyset pagination of account listings: WHERE company_id = ? AND type = ? AND active
+-- ORDER BY due_date, id, resuming after the last (due_date, id) seen
+CREATE INDEX idx_account_company_type_due_date_id
+    ON financial_schema.accounts(company_id, type, due_date, id)
+    WHERE active;
@@ -0,0 +1,8 @@
+-- Lazy recurrences: occurrences are created by a job up to a rolling horizon.
+-- next_due_date is the next date not yet materialized (NULL when there is nothing left to generate).
+ALTER TABLE financial_schema.recurrences
+    ADD COLUMN next_due_date DATE,
+    ADD COLUMN generated_count INT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_recurrence_next_due_date ON financial_schema.recurrences(next_due_date)
+    WHERE next_due_date IS NOT NULL;
@@ -0,0 +1,3 @@
+-- Overdue job: finds active PENDING accounts with due_date < today in chunks
+CREATE INDEX idx_account_pending_due_date ON financial_schema.accounts(due_date)
+    WHERE status = 'PENDING' AND active;
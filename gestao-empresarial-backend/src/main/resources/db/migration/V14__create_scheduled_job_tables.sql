@@ -0,0 +1,24 @@
+-- Lease per scheduled job: only the owner whose lease_until is in the future runs the job.
+-- Times use the database clock so they do not depend on each replica's clock.
+CREATE TABLE financial_schema.scheduled_job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(200) NOT NULL,
+    acquired_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    lease_until TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Run history
+CREATE TABLE financial_schema.scheduled_job_runs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    job_name VARCHAR(100) NOT NULL,
+    owner VARCHAR(200) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED', 'ABANDONED')),
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    finished_at TIMESTAMP WITH TIME ZONE,
+    rows_affected BIGINT,
+    error_message VARCHAR(500)
+);
+
+CREATE INDEX idx_scheduled_job_runs_job_started ON financial_schema.scheduled_job_runs(job_name, started_at DESC);
+CREATE INDEX idx_scheduled_job_runs_running ON financial_schema.scheduled_job_runs(job_name)
+    WHERE status = 'RUNNING';
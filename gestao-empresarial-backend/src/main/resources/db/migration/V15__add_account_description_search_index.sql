@@ -0,0 +1,8 @@
+-- Description search (q): lower(description) LIKE '%term%' through trigrams.
+-- btree_gin puts company_id in the same index, so a search never scans other companies' accounts.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_account_company_description_trgm ON financial_schema.accounts
+    USING gin (company_id, lower(description) gin_trgm_ops)
+    WHERE active;
@@ -0,0 +1,7 @@
+-- Async import heartbeat: the worker touches updated_at on every chunk, and the sweep marks
+-- imports left in PROCESSING without an update (node died mid-file) as FAILED
+ALTER TABLE financial_schema.bank_imports
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+CREATE INDEX idx_bank_import_processing_updated_at ON financial_schema.bank_imports (updated_at)
+    WHERE status = 'PROCESSING';
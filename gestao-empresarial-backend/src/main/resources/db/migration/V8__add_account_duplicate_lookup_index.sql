@@ -0,0 +1,7 @@
+-- Covering index for bank import duplicate detection: resolves
+-- (due_date, amount, description) for a company/date range with an index-only scan.
+-- Supersedes idx_account_company_due_date, which has the same key prefix.
+CREATE INDEX idx_account_company_due_date_covering
+    ON financial_schema.accounts(company_id, due_date) INCLUDE (amount, description);
+
+DROP INDEX IF EXISTS financial_schema.idx_account_company_due_date;
@@ -0,0 +1,10 @@
+-- Async imports: PROCESSING while the file is parsed, FAILED when processing aborts
+ALTER TABLE financial_schema.bank_imports
+    DROP CONSTRAINT IF EXISTS bank_imports_status_check;
+
+ALTER TABLE financial_schema.bank_imports
+    ADD CONSTRAINT bank_imports_status_check
+    CHECK (status IN ('PROCESSING', 'PENDING_REVIEW', 'COMPLETED', 'CANCELLED', 'FAILED'));
+
+ALTER TABLE financial_schema.bank_imports
+    ADD COLUMN error_message VARCHAR(500);
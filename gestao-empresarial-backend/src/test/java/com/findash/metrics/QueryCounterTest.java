@@ -0,0 +1,23 @@
+package com.findash.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCounterTest {
+
+    private final QueryCounter counter = new QueryCounter();
+
+    @Test
+    void inspect_countsOnlyWhileStarted() {
+        counter.inspect("select 1");
+
+        QueryCounter.start();
+        assertEquals("select 2", counter.inspect("select 2"));
+        counter.inspect("select 3");
+        assertEquals(2, QueryCounter.stop());
+
+        counter.inspect("select 4");
+        assertEquals(0, QueryCounter.stop());
+    }
+}
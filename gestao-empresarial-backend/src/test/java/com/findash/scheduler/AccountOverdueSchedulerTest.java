@@ -0,0 +1,62 @@
+package com.findash.scheduler;
+
+import com.findash.event.AccountsChangedEvent;
+import com.findash.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountOverdueSchedulerTest {
+
+    @Mock private AccountRepository accountRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private ScheduledJobRunner jobRunner;
+
+    private AccountOverdueScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new AccountOverdueScheduler(accountRepository, eventPublisher, jobRunner, 10);
+    }
+
+    @Test
+    void markOverdueAccounts_processesChunksUntilOnePartialChunk() {
+        UUID companyA = UUID.randomUUID();
+        UUID companyB = UUID.randomUUID();
+        LocalDate jan = LocalDate.of(2026, 1, 10);
+        when(accountRepository.markOverdueChunk(eq(LocalDate.now()), eq(10)))
+            .thenReturn(List.of(new Object[]{companyA, jan, jan, 6L}, new Object[]{companyB, jan, jan.plusDays(5), 4L}))
+            .thenReturn(List.<Object[]>of(new Object[]{companyA, jan, jan, 3L}));
+
+        scheduler.markOverdueAccounts();
+
+        verify(accountRepository, times(2)).markOverdueChunk(any(), eq(10));
+        verify(eventPublisher, times(3)).publishEvent(any(AccountsChangedEvent.class));
+        assertEquals(2, scheduler.lastRun().chunks());
+        assertEquals(13, scheduler.lastRun().updated());
+        assertEquals(new AccountOverdueScheduler.OverdueStats(1, 2, 13), scheduler.stats());
+    }
+
+    @Test
+    void markOverdueAccounts_nothingDue_recordsEmptyRun() {
+        when(accountRepository.markOverdueChunk(any(), eq(10))).thenReturn(List.of());
+
+        scheduler.markOverdueAccounts();
+
+        verifyNoInteractions(eventPublisher);
+        assertEquals(0, scheduler.lastRun().updated());
+    }
+}
@@ -0,0 +1,179 @@
+package com.findash.scheduler;
+
+import com.findash.entity.ScheduledJobRun;
+import com.findash.entity.ScheduledJobStatus;
+import com.findash.repository.ScheduledJobLeaseRepository;
+import com.findash.repository.ScheduledJobRunRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobRunnerTest {
+
+    @Mock private ScheduledJobLeaseRepository leaseRepository;
+    @Mock private ScheduledJobRunRepository runRepository;
+
+    private ScheduledJobRunner runner;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        runner = new ScheduledJobRunner(leaseRepository, runRepository, ObservationRegistry.NOOP, "node-a");
+        runner.register("job", Duration.ofMinutes(5), "0 0 * * * *", () -> {
+            executions.incrementAndGet();
+            return 42L;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.shutdown();
+    }
+
+    @Test
+    void run_leaseHeldByAnotherNode_skipsJob() {
+        when(leaseRepository.tryAcquire(eq("job"), eq(runner.owner()), eq(300L))).thenReturn(0);
+
+        assertFalse(runner.run("job"));
+        assertEquals(0, executions.get());
+        verifyNoInteractions(runRepository);
+    }
+
+    @Test
+    void run_leaseAcquired_recordsRunAndHoldsLeaseForHalfTheInterval() {
+        when(leaseRepository.tryAcquire(eq("job"), eq(runner.owner()), anyLong())).thenReturn(1);
+        when(runRepository.save(any(ScheduledJobRun.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertTrue(runner.run("job"));
+
+        assertEquals(1, executions.get());
+        verify(runRepository, times(2)).save(argThat(run -> run.getJobName().equals("job")));
+        verify(runRepository, atLeastOnce()).save(argThat(run ->
+            run.getStatus() == ScheduledJobStatus.SUCCEEDED && run.getRowsAffected() == 42L));
+        // Cron de hora em hora: janela de 30 min, contada pelo banco
+        verify(runRepository).existsSucceededWithin("job", 1800L);
+        verify(leaseRepository).holdFor("job", runner.owner(), 1800L);
+        verify(leaseRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void run_failingJob_recordsFailureAndReleasesLease() {
+        runner.register("broken", Duration.ofMinutes(1), "0 0 * * * *", () -> {
+            throw new IllegalStateException("boom");
+        });
+        when(leaseRepository.tryAcquire(eq("broken"), eq(runner.owner()), anyLong())).thenReturn(1);
+        when(runRepository.save(any(ScheduledJobRun.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        runner.run("broken");
+
+        verify(runRepository, atLeastOnce()).save(argThat(run ->
+            run.getStatus() == ScheduledJobStatus.FAILED && "boom".equals(run.getErrorMessage())));
+        verify(leaseRepository).release("broken", runner.owner());
+        verify(leaseRepository, never()).holdFor(any(), any(), anyLong());
+    }
+
+    @Test
+    void run_slotAlreadySucceeded_skipsJob() {
+        when(leaseRepository.tryAcquire(eq("job"), eq(runner.owner()), anyLong())).thenReturn(1);
+        when(runRepository.existsSucceededWithin("job", 1800L)).thenReturn(true);
+
+        assertFalse(runner.run("job"));
+        assertEquals(0, executions.get());
+        verify(runRepository, never()).save(any());
+    }
+
+    @Test
+    void run_ownerGoneAfterSuccess_foreignNodeFiringEarlyRunsNextSlot() {
+        // Tabelas de lease e historico simuladas com o relogio do banco
+        Instant slot = Instant.parse("2026-03-10T10:00:00Z");
+        AtomicReference<Instant> dbNow = new AtomicReference<>(slot);
+        AtomicReference<String> leaseOwner = new AtomicReference<>();
+        AtomicReference<Instant> leaseUntil = new AtomicReference<>(Instant.EPOCH);
+        AtomicReference<Instant> lastSuccess = new AtomicReference<>(Instant.EPOCH);
+        when(leaseRepository.tryAcquire(eq("job"), any(), anyLong())).thenAnswer(inv -> {
+            String owner = inv.getArgument(1);
+            if (leaseUntil.get().isAfter(dbNow.get()) && !owner.equals(leaseOwner.get())) return 0;
+            leaseOwner.set(owner);
+            leaseUntil.set(dbNow.get().plusSeconds(inv.getArgument(2)));
+            return 1;
+        });
+        when(leaseRepository.holdFor(eq("job"), any(), anyLong())).thenAnswer(inv -> {
+            Instant held = dbNow.get().plusSeconds(inv.getArgument(2));
+            if (held.isAfter(leaseUntil.get())) leaseUntil.set(held);
+            return 1;
+        });
+        when(runRepository.existsSucceededWithin(eq("job"), anyLong())).thenAnswer(inv ->
+            lastSuccess.get().isAfter(dbNow.get().minusSeconds(inv.getArgument(1))));
+        when(runRepository.save(any(ScheduledJobRun.class))).thenAnswer(inv -> {
+            ScheduledJobRun run = inv.getArgument(0);
+            if (run.getStatus() == ScheduledJobStatus.SUCCEEDED) lastSuccess.set(dbNow.get());
+            return run;
+        });
+        ScheduledJobRunner nodeB = new ScheduledJobRunner(leaseRepository, runRepository, ObservationRegistry.NOOP, "node-b");
+        nodeB.register("job", Duration.ofMinutes(5), "0 0 * * * *", () -> {
+            executions.incrementAndGet();
+            return 0L;
+        });
+
+        try {
+            assertTrue(runner.run("job"));
+
+            // Mesmo horario, disparo atrasado em outra replica: nao repete
+            dbNow.set(slot.plusSeconds(5));
+            assertFalse(nodeB.run("job"));
+
+            // node-a morreu; o relogio de node-b esta 1s adiantado e dispara o proximo horario antes
+            // do instante exato do cron no banco. Antes o lease ia ate ali e o horario se perdia.
+            dbNow.set(slot.plus(Duration.ofHours(1)).minusSeconds(1));
+            assertTrue(nodeB.run("job"));
+            assertEquals(2, executions.get());
+        } finally {
+            nodeB.shutdown();
+        }
+    }
+
+    @Test
+    void recoverAbandonedRuns_marksAbandonedAndRerunsJob() {
+        ScheduledJobRun stale = new ScheduledJobRun("job", "node-b#dead");
+        when(runRepository.findAbandoned()).thenReturn(List.of(stale));
+        when(leaseRepository.tryAcquire(eq("job"), eq(runner.owner()), anyLong())).thenReturn(1);
+        when(runRepository.save(any(ScheduledJobRun.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        runner.recoverAbandonedRuns();
+
+        assertEquals(ScheduledJobStatus.ABANDONED, stale.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void recoverAbandonedRuns_retryLimitReachedInSlot_doesNotRerun() {
+        ScheduledJobRun stale = new ScheduledJobRun("job", "node-b#dead");
+        when(runRepository.findAbandoned()).thenReturn(List.of(stale));
+        when(runRepository.save(any(ScheduledJobRun.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(runRepository.countAbandonedWithin("job", 1800L))
+            .thenReturn((long) ScheduledJobRunner.MAX_ABANDONED_PER_SLOT);
+
+        runner.recoverAbandonedRuns();
+
+        assertEquals(ScheduledJobStatus.ABANDONED, stale.getStatus());
+        assertEquals(0, executions.get());
+        verifyNoInteractions(leaseRepository);
+    }
+}
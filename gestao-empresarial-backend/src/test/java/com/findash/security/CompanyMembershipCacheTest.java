@@ -0,0 +1,71 @@
+package com.findash.security;
+
+import com.findash.entity.Role;
+import com.findash.entity.UserRole;
+import com.findash.repository.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyMembershipCacheTest {
+
+    @Mock private UserRoleRepository userRoleRepository;
+
+    private CompanyMembershipCache cache;
+    private final UUID userId = UUID.randomUUID();
+    private final UUID companyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompanyMembershipCache(userRoleRepository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void resolve_member_isLoadedOnce() {
+        when(userRoleRepository.findByUserIdAndCompanyId(userId, companyId)).thenReturn(Optional.of(role(Role.EDITOR)));
+
+        assertEquals(Optional.of(Role.EDITOR), cache.resolve(userId, companyId));
+        assertEquals(Optional.of(Role.EDITOR), cache.resolve(userId, companyId));
+        verify(userRoleRepository, times(1)).findByUserIdAndCompanyId(userId, companyId);
+    }
+
+    @Test
+    void resolve_nonMember_isNotCached() {
+        when(userRoleRepository.findByUserIdAndCompanyId(userId, companyId))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(role(Role.VIEWER)));
+
+        assertTrue(cache.resolve(userId, companyId).isEmpty());
+        assertEquals(Optional.of(Role.VIEWER), cache.resolve(userId, companyId));
+    }
+
+    @Test
+    void invalidate_reloadsRole() {
+        when(userRoleRepository.findByUserIdAndCompanyId(userId, companyId))
+            .thenReturn(Optional.of(role(Role.ADMIN)))
+            .thenReturn(Optional.of(role(Role.VIEWER)));
+
+        cache.resolve(userId, companyId);
+        cache.invalidate(userId, companyId);
+
+        assertEquals(Optional.of(Role.VIEWER), cache.resolve(userId, companyId));
+    }
+
+    private UserRole role(Role value) {
+        UserRole role = new UserRole();
+        role.setUserId(userId);
+        role.setCompanyId(companyId);
+        role.setRole(value);
+        return role;
+    }
+}
@@ -0,0 +1,65 @@
+package com.findash.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long-for-hmac";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60_000, 2);
+
+    @Test
+    void authenticate_validToken_returnsUserAndCachesIt() {
+        UUID userId = UUID.randomUUID();
+        String token = provider.generateAccessToken(userId, "ana@empresa.com", List.of("USER"));
+
+        Optional<UserContext> first = provider.authenticate(token);
+        Optional<UserContext> second = provider.authenticate(token);
+
+        assertTrue(first.isPresent());
+        assertEquals(userId, first.get().userId());
+        assertEquals(List.of("USER"), first.get().roles());
+        assertSame(first.get(), second.get());
+    }
+
+    @Test
+    void authenticate_moreTokensThanCapacity_keepsCacheBounded() {
+        for (int i = 0; i < 10; i++) {
+            String token = provider.generateAccessToken(UUID.randomUUID(), "ana@empresa.com", List.of("USER"));
+            assertTrue(provider.authenticate(token).isPresent());
+            assertTrue(provider.cachedTokenCount() <= 2);
+        }
+    }
+
+    @Test
+    void authenticate_tamperedToken_returnsEmpty() {
+        String token = provider.generateAccessToken(UUID.randomUUID(), "ana@empresa.com", List.of("USER"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(provider.authenticate(tampered).isEmpty());
+        assertTrue(provider.authenticate("").isEmpty());
+    }
+
+    @Test
+    void authenticate_tokenFromAnotherKey_returnsEmpty() {
+        JwtTokenProvider other = new JwtTokenProvider(SECRET.replace('t', 'x'), 60_000);
+        String token = other.generateAccessToken(UUID.randomUUID(), "ana@empresa.com", List.of("USER"));
+
+        assertTrue(provider.authenticate(token).isEmpty());
+    }
+
+    @Test
+    void authenticate_expiredToken_returnsEmpty() {
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1_000);
+        String token = expiring.generateAccessToken(UUID.randomUUID(), "ana@empresa.com", List.of("USER"));
+
+        assertTrue(expiring.authenticate(token).isEmpty());
+        assertFalse(expiring.isValid(token));
+    }
+}
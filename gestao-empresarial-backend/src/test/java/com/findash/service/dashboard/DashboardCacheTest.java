@@ -0,0 +1,62 @@
+package com.findash.service.dashboard;
+
+import com.findash.event.AccountsChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheTest {
+
+    private final DashboardCache cache = new DashboardCache(Duration.ofMinutes(5));
+    private final UUID companyId = UUID.randomUUID();
+    private final LocalDate jan1 = LocalDate.of(2026, 1, 1);
+    private final LocalDate jan31 = LocalDate.of(2026, 1, 31);
+
+    @Test
+    void get_secondCallHitsCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+        Integer cached = cache.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+
+        assertEquals(1, cached);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void onAccountsChanged_evictsOnlyOverlappingRangesOfSameCompany() {
+        AtomicInteger loads = new AtomicInteger();
+        UUID otherCompany = UUID.randomUUID();
+        LocalDate feb1 = LocalDate.of(2026, 2, 1);
+        LocalDate feb28 = LocalDate.of(2026, 2, 28);
+
+        cache.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+        cache.get(companyId, "summary", feb1, feb28, loads::incrementAndGet);
+        cache.get(otherCompany, "summary", jan1, jan31, loads::incrementAndGet);
+
+        cache.onAccountsChanged(new AccountsChangedEvent(companyId, LocalDate.of(2026, 1, 15), LocalDate.of(2026, 1, 15)));
+
+        cache.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+        cache.get(companyId, "summary", feb1, feb28, loads::incrementAndGet);
+        cache.get(otherCompany, "summary", jan1, jan31, loads::incrementAndGet);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void get_expiredEntryIsReloaded() {
+        DashboardCache shortLived = new DashboardCache(Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+
+        shortLived.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+        shortLived.get(companyId, "summary", jan1, jan31, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,33 @@
+package com.findash.service.export;
+
+import com.findash.dto.AccountResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvAccountExportWriterTest {
+
+    @Test
+    void write_textStartingWithFormulaCharacter_isPrefixedWithApostrophe() throws Exception {
+        AccountResponseDTO account = new AccountResponseDTO(
+            UUID.randomUUID(), "PAYABLE", "=cmd|' /C calc'!A0", new BigDecimal("-10.00"),
+            LocalDate.of(2026, 1, 10), null, "PENDING",
+            new AccountResponseDTO.AccountCategoryDTO(UUID.randomUUID(), "+Impostos"),
+            null, new AccountResponseDTO.AccountClientDTO(UUID.randomUUID(), "@Cliente"),
+            null, "-desconto", null, null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        AccountExportWriter writer = AccountExportFormat.CSV.open(output);
+        writer.write(account);
+        writer.finish();
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("'=cmd|' /C calc'!A0;-10.00;2026-01-10;;PENDING;'+Impostos;'@Cliente;'-desconto", lines[1]);
+    }
+}
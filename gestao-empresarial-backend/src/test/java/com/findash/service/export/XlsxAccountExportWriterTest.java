@@ -0,0 +1,79 @@
+package com.findash.service.export;
+
+import com.findash.dto.AccountResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XlsxAccountExportWriterTest {
+
+    @Test
+    void finish_producesWorkbookWithEscapedRows() throws Exception {
+        AccountResponseDTO account = new AccountResponseDTO(
+            UUID.randomUUID(), "PAYABLE", "Agua & Luz <sede>", new BigDecimal("150.50"),
+            LocalDate.of(2026, 1, 10), null, "PENDING",
+            new AccountResponseDTO.AccountCategoryDTO(UUID.randomUUID(), "Utilidades"),
+            new AccountResponseDTO.AccountSupplierDTO(UUID.randomUUID(), "Sabesp"),
+            null, null, null, null, null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        AccountExportWriter writer = AccountExportFormat.XLSX.open(output);
+        writer.write(account);
+        writer.finish();
+
+        Map<String, String> entries = unzip(output.toByteArray());
+        assertTrue(entries.keySet().containsAll(
+            List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml")));
+
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertEquals(2, sheet.split("<row>", -1).length - 1);
+        assertTrue(sheet.contains("Agua &amp; Luz &lt;sede&gt;"));
+        assertTrue(sheet.contains("<c><v>150.50</v></c>"));
+        assertTrue(sheet.contains(">2026-01-10<"));
+        assertTrue(sheet.contains(">Sabesp<"));
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+    }
+
+    @Test
+    void write_textStartingWithFormulaCharacter_isPrefixedWithApostrophe() throws Exception {
+        AccountResponseDTO account = new AccountResponseDTO(
+            UUID.randomUUID(), "PAYABLE", "=HYPERLINK(\"http://x\")", new BigDecimal("-10.00"),
+            LocalDate.of(2026, 1, 10), null, "PENDING", null,
+            new AccountResponseDTO.AccountSupplierDTO(UUID.randomUUID(), "@SUM(A1)"),
+            null, null, "-2+3", null, null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        AccountExportWriter writer = AccountExportFormat.XLSX.open(output);
+        writer.write(account);
+        writer.finish();
+
+        String sheet = unzip(output.toByteArray()).get("xl/worksheets/sheet1.xml");
+        assertTrue(sheet.contains(">'=HYPERLINK(\"http://x\")<"));
+        assertTrue(sheet.contains(">'@SUM(A1)<"));
+        assertTrue(sheet.contains("<c><v>-10.00</v></c>"));
+    }
+
+    private Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -2,29 +2,40 @@ package com.findash.service.impl;
 
 import com.findash.dto.*;
 import com.findash.entity.*;
+import com.findash.event.AccountsChangedEvent;
 import com.findash.exception.BusinessRuleException;
 import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.AccountMapper;
 import com.findash.repository.*;
+import com.findash.service.export.AccountExportFormat;
+import com.findash.service.recurrence.RecurrenceMaterializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +48,8 @@ class AccountServiceImplTest {
     @Mock private SupplierRepository supplierRepository;
     @Mock private ClientRepository clientRepository;
     @Mock private AccountMapper accountMapper;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private RecurrenceMaterializer recurrenceMaterializer;
 
     private AccountServiceImpl accountService;
     private UUID companyId;
@@ -46,7 +59,7 @@ class AccountServiceImplTest {
         accountService = new AccountServiceImpl(
             accountRepository, recurrenceRepository,
             categoryRepository, supplierRepository, clientRepository,
-            accountMapper
+            accountMapper, eventPublisher, recurrenceMaterializer
         );
         companyId = UUID.randomUUID();
     }
@@ -123,7 +136,7 @@ class AccountServiceImplTest {
     void createWithRecurrence_generatesMultipleEntries() {
         UUID categoryId = UUID.randomUUID();
         UUID supplierId = UUID.randomUUID();
-        var recurrence = new RecurrenceRequestDTO("MONTHLY", LocalDate.of(2026, 6, 10), null);
+        var recurrence = new RecurrenceRequestDTO("MONTHLY", LocalDate.of(2026, 6, 10), null, null);
         var request = new CreateAccountRequestDTO(
             "PAYABLE", "Aluguel", new BigDecimal("2500.00"),
             LocalDate.of(2026, 3, 10), categoryId, supplierId, null, null, recurrence
@@ -134,17 +147,45 @@ class AccountServiceImplTest {
         when(supplierRepository.findByIdAndCompanyId(supplierId, companyId))
             .thenReturn(Optional.of(new Supplier(companyId, "Imobiliaria")));
         when(recurrenceRepository.save(any(Recurrence.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
         when(accountMapper.toResponse(any(), any(), any(), any()))
             .thenReturn(createMockResponse("PAYABLE", "PENDING"));
 
         accountService.create(companyId, request);
 
-        // March, April, May, June = 4 entries
-        verify(accountRepository, times(4)).save(any(Account.class));
+        // March, April, May, June = 4 entries, gravadas em um unico saveAll
+        verify(accountRepository).saveAll(argThat((List<Account> accounts) -> accounts.size() == 4
+            && accounts.get(3).getDueDate().equals(LocalDate.of(2026, 6, 10))));
+        verify(accountRepository, never()).save(any(Account.class));
         verify(recurrenceRepository).save(any(Recurrence.class));
     }
 
+    @Test
+    void createWithLazyRecurrence_delegatesToMaterializer() {
+        UUID categoryId = UUID.randomUUID();
+        UUID supplierId = UUID.randomUUID();
+        var recurrence = new RecurrenceRequestDTO("WEEKLY", null, null, true);
+        var request = new CreateAccountRequestDTO(
+            "PAYABLE", "Diarista", new BigDecimal("150.00"),
+            LocalDate.now().plusDays(1), categoryId, supplierId, null, null, recurrence
+        );
+
+        when(categoryRepository.findByIdAndCompanyId(categoryId, companyId))
+            .thenReturn(Optional.of(new Category(UUID.randomUUID(), companyId, "Operacional")));
+        when(supplierRepository.findByIdAndCompanyId(supplierId, companyId))
+            .thenReturn(Optional.of(new Supplier(companyId, "Diarista")));
+        when(recurrenceRepository.save(any(Recurrence.class))).thenAnswer(inv -> inv.getArgument(0));
+        Account first = createMockAccount(UUID.randomUUID(), AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("150.00"));
+        when(recurrenceMaterializer.materialize(
+            argThat(r -> request.dueDate().equals(r.getNextDueDate())), any(Account.class)))
+            .thenReturn(List.of(first));
+        when(accountMapper.toResponse(eq(first), any(), any(), any()))
+            .thenReturn(createMockResponse("PAYABLE", "PENDING"));
+
+        assertNotNull(accountService.create(companyId, request));
+        verify(accountRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void createPayable_withPastDueDate_setsOverdueStatus() {
         UUID categoryId = UUID.randomUUID();
@@ -243,6 +284,8 @@ class AccountServiceImplTest {
         accountService.delete(companyId, accountId);
 
         verify(accountRepository).delete(account);
+        verify(eventPublisher).publishEvent(
+            new AccountsChangedEvent(companyId, account.getDueDate(), account.getDueDate()));
     }
 
     // --- LIST ---
@@ -258,72 +301,189 @@ class AccountServiceImplTest {
         when(accountMapper.toResponse(any(), any(), any(), any()))
             .thenReturn(createMockResponse("PAYABLE", "PENDING"));
 
-        Page<AccountResponseDTO> result = accountService.list(companyId, AccountType.PAYABLE, null, null, null, null, null, null, pageable);
+        Page<AccountResponseDTO> result = accountService.list(companyId, AccountType.PAYABLE, null, null, null, null, null, null, null, pageable);
 
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void list_resolvesRelationsWithOneQueryPerType() {
+        Pageable pageable = PageRequest.of(0, 100);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Account account = createMockAccount(UUID.randomUUID(), AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("10.00"));
+            account.setSupplierId(UUID.randomUUID());
+            accounts.add(account);
+        }
+
+        when(accountRepository.findAll(any(Specification.class), eq(pageable)))
+            .thenReturn(new PageImpl<>(accounts, pageable, 250));
+        when(accountMapper.toResponse(any(), any(), any(), any()))
+            .thenReturn(createMockResponse("PAYABLE", "PENDING"));
+
+        Page<AccountResponseDTO> result = accountService.list(companyId, AccountType.PAYABLE, null, null, null, null, null, null, null, pageable);
+
+        assertEquals(100, result.getContent().size());
+        assertEquals(250, result.getTotalElements());
+        verify(categoryRepository, times(1)).findAllById(any());
+        verify(supplierRepository, times(1)).findAllById(any());
+        verify(clientRepository, never()).findAllById(any());
+        verify(categoryRepository, never()).findById(any());
+        verify(supplierRepository, never()).findById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void list_withSearch_ranksInsteadOfPageableSort() {
+        Account account = createMockAccount(UUID.randomUUID(), AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("100.00"));
+        Pageable pageable = PageRequest.of(1, 20, Sort.by("dueDate"));
+
+        when(accountRepository.findAll(any(Specification.class), eq(PageRequest.of(1, 20))))
+            .thenReturn(new PageImpl<>(List.of(account), PageRequest.of(1, 20), 21));
+        when(accountMapper.toResponse(any(), any(), any(), any()))
+            .thenReturn(createMockResponse("PAYABLE", "PENDING"));
+
+        Page<AccountResponseDTO> result = accountService.list(companyId, AccountType.PAYABLE, null,
+            null, null, null, null, null, "  Aluguel ", pageable);
+
+        assertEquals(21, result.getTotalElements());
+        verify(accountRepository, never()).findAll(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    void listByCursor_fetchesOneExtraRowAndSkipsCount() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accounts.add(createMockAccount(UUID.randomUUID(), AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("10.00")));
+        }
+
+        when(accountRepository.findBy(any(Specification.class), any())).thenReturn(accounts);
+        when(accountMapper.toResponse(any(), any(), any(), any()))
+            .thenReturn(createMockResponse("PAYABLE", "PENDING"));
+
+        AccountCursorPageDTO result = accountService.listByCursor(companyId, AccountType.PAYABLE, null,
+            null, null, null, null, null, null, "", 2, false);
+
+        assertEquals(2, result.content().size());
+        assertNotNull(result.nextCursor());
+        assertNull(result.totalElements());
+        verify(accountRepository, never()).count(any(Specification.class));
+
+        // O cursor devolvido e aceito na chamada seguinte
+        when(accountRepository.count(any(Specification.class))).thenReturn(3L);
+        AccountCursorPageDTO next = accountService.listByCursor(companyId, AccountType.PAYABLE, null,
+            null, null, null, null, null, null, result.nextCursor(), 2, true);
+        assertEquals(3L, next.totalElements());
+    }
+
+    @Test
+    void listByCursor_invalidCursor_throws() {
+        assertThrows(BusinessRuleException.class, () -> accountService.listByCursor(companyId,
+            AccountType.PAYABLE, null, null, null, null, null, null, null, "nao-e-um-cursor", 20, false));
+    }
+
+    // --- EXPORT ---
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export_writesCsvResolvingRelationsPerChunkAndClosesStream() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            accounts.add(createMockAccount(UUID.randomUUID(), AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("10.00")));
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(accountRepository.streamAll(any(Specification.class), any(Sort.class), anyInt()))
+            .thenReturn(accounts.stream().onClose(() -> closed.set(true)));
+        when(accountMapper.toResponse(any(), any(), any(), any()))
+            .thenReturn(createMockResponse("PAYABLE", "PENDING"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        accountService.export(companyId, AccountType.PAYABLE, null, null, null, null, null, null, null,
+            AccountExportFormat.CSV, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2501, lines.length);
+        assertTrue(lines[0].endsWith("descricao;valor;vencimento;pagamento;status;categoria;fornecedor_cliente;observacoes"));
+        assertTrue(lines[1].startsWith("Test;1000.00;"));
+        verify(categoryRepository, times(3)).findAllById(any());
+        assertTrue(closed.get());
+    }
+
     // --- BATCH PAY ---
 
     @Test
-    void batchPay_marksPendingAccountsAsPaid() {
+    void batchPay_settlesWithOneUpdateAndBuildsResponseFromJoin() {
         UUID id1 = UUID.randomUUID();
         UUID id2 = UUID.randomUUID();
-        Account acc1 = createMockAccount(id1, AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("100.00"));
-        Account acc2 = createMockAccount(id2, AccountType.PAYABLE, AccountStatus.OVERDUE, new BigDecimal("200.00"));
-        var request = new BatchPayRequestDTO(List.of(id1, id2), LocalDate.of(2026, 2, 19));
-
-        when(accountRepository.findByIdInAndCompanyId(List.of(id1, id2), companyId))
-            .thenReturn(List.of(acc1, acc2));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(accountMapper.toResponse(any(), any(), any(), any()))
+        LocalDate paymentDate = LocalDate.of(2026, 2, 19);
+        Account acc1 = createMockAccount(id1, AccountType.PAYABLE, AccountStatus.PAID, new BigDecimal("100.00"));
+        Account acc2 = createMockAccount(id2, AccountType.PAYABLE, AccountStatus.PAID, new BigDecimal("200.00"));
+        Category category = new Category(UUID.randomUUID(), companyId, "Operacional");
+        var request = new BatchPayRequestDTO(List.of(id1, id2), paymentDate);
+
+        when(accountRepository.settleUnpaid(companyId, List.of(id1, id2), paymentDate))
+            .thenReturn(List.of(id1, id2));
+        when(accountRepository.findWithRelationsByIdIn(List.of(id1, id2)))
+            .thenReturn(List.of(new Object[]{acc1, category, null, null}, new Object[]{acc2, category, null, null}));
+        when(accountMapper.toResponse(any(), eq(category), isNull(), isNull()))
             .thenReturn(createMockResponse("PAYABLE", "PAID"));
 
         List<AccountResponseDTO> result = accountService.batchPay(companyId, request);
 
         assertEquals(2, result.size());
-        assertEquals(AccountStatus.PAID, acc1.getStatus());
-        assertEquals(AccountStatus.PAID, acc2.getStatus());
-        assertEquals(LocalDate.of(2026, 2, 19), acc1.getPaymentDate());
-        verify(accountRepository, times(2)).save(any(Account.class));
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).findByIdInAndCompanyId(any(), any());
+        verifyNoInteractions(categoryRepository, supplierRepository, clientRepository);
+        verify(eventPublisher).publishEvent(any(AccountsChangedEvent.class));
     }
 
     @Test
-    void batchPay_skipsAlreadyPaidAccounts() {
+    void batchPay_skipsAccountsNotReturnedByUpdate() {
         UUID id1 = UUID.randomUUID();
         UUID id2 = UUID.randomUUID();
-        Account acc1 = createMockAccount(id1, AccountType.PAYABLE, AccountStatus.PAID, new BigDecimal("100.00"));
-        Account acc2 = createMockAccount(id2, AccountType.PAYABLE, AccountStatus.PENDING, new BigDecimal("200.00"));
+        Account acc2 = createMockAccount(id2, AccountType.PAYABLE, AccountStatus.PAID, new BigDecimal("200.00"));
         var request = new BatchPayRequestDTO(List.of(id1, id2), LocalDate.of(2026, 2, 19));
 
-        when(accountRepository.findByIdInAndCompanyId(List.of(id1, id2), companyId))
-            .thenReturn(List.of(acc1, acc2));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        // id1 ja estava pago: o UPDATE so devolve id2
+        when(accountRepository.settleUnpaid(companyId, List.of(id1, id2), LocalDate.of(2026, 2, 19)))
+            .thenReturn(List.of(id2));
+        when(accountRepository.findWithRelationsByIdIn(List.of(id2)))
+            .thenReturn(List.<Object[]>of(new Object[]{acc2, null, null, null}));
         when(accountMapper.toResponse(any(), any(), any(), any()))
             .thenReturn(createMockResponse("PAYABLE", "PAID"));
 
         List<AccountResponseDTO> result = accountService.batchPay(companyId, request);
 
         assertEquals(1, result.size());
-        assertEquals(AccountStatus.PAID, acc1.getStatus()); // unchanged
-        verify(accountRepository, times(1)).save(any(Account.class)); // only acc2
     }
 
     @Test
-    void batchPay_receivable_setsReceivedStatus() {
+    void batchPay_nothingToSettle_skipsLookupAndEvent() {
         UUID id1 = UUID.randomUUID();
-        Account acc1 = createMockAccount(id1, AccountType.RECEIVABLE, AccountStatus.PENDING, new BigDecimal("500.00"));
-        var request = new BatchPayRequestDTO(List.of(id1), LocalDate.of(2026, 2, 19));
+        var request = new BatchPayRequestDTO(List.of(id1, id1), LocalDate.of(2026, 2, 19));
 
-        when(accountRepository.findByIdInAndCompanyId(List.of(id1), companyId))
-            .thenReturn(List.of(acc1));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(accountMapper.toResponse(any(), any(), any(), any()))
-            .thenReturn(createMockResponse("RECEIVABLE", "RECEIVED"));
+        when(accountRepository.settleUnpaid(companyId, List.of(id1), LocalDate.of(2026, 2, 19)))
+            .thenReturn(List.of());
+
+        assertTrue(accountService.batchPay(companyId, request).isEmpty());
+        verify(accountRepository, never()).findWithRelationsByIdIn(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void batchPay_largeSelection_isChunked() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) ids.add(UUID.randomUUID());
+        var request = new BatchPayRequestDTO(ids, LocalDate.of(2026, 2, 19));
+
+        when(accountRepository.settleUnpaid(eq(companyId), anyList(), eq(LocalDate.of(2026, 2, 19))))
+            .thenReturn(List.of());
 
         accountService.batchPay(companyId, request);
 
-        assertEquals(AccountStatus.RECEIVED, acc1.getStatus());
+        verify(accountRepository, times(3)).settleUnpaid(eq(companyId), anyList(), any());
     }
 
     // --- HELPERS ---
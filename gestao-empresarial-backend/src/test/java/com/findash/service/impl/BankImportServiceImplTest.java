@@ -4,21 +4,34 @@ import com.findash.dto.bankimport.*;
 import com.findash.entity.*;
 import com.findash.exception.BusinessRuleException;
 import com.findash.repository.*;
+import com.findash.service.bankimport.ImportProgressTracker;
+import com.findash.service.matching.SupplierMatcherCache;
 import com.findash.service.parser.*;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +47,11 @@ class BankImportServiceImplTest {
     @Mock private OfxParser ofxParser;
     @Mock private CsvParser csvParser;
     @Mock private PdfParser pdfParser;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private ImportProgressTracker progressTracker;
 
     private BankImportServiceImpl service;
     private UUID companyId;
@@ -41,9 +59,13 @@ class BankImportServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        progressTracker = new ImportProgressTracker();
         service = new BankImportServiceImpl(importRepository, itemRepository,
             matchRuleRepository, accountRepository, supplierRepository,
-            clientRepository, categoryRepository, ofxParser, csvParser, pdfParser);
+            clientRepository, categoryRepository, ofxParser, csvParser, pdfParser,
+            new SupplierMatcherCache(matchRuleRepository, supplierRepository, clientRepository, Duration.ofMinutes(1)),
+            entityManager, transactionManager, Runnable::run, progressTracker, eventPublisher,
+            ObservationRegistry.NOOP);
         companyId = UUID.randomUUID();
         userId = UUID.randomUUID();
     }
@@ -54,31 +76,91 @@ class BankImportServiceImplTest {
             "dummy".getBytes());
         var tx = new ParsedTransaction(LocalDate.now(), "XPTO", new BigDecimal("100"), "DEBIT", Map.of());
 
-        when(ofxParser.parse(any(), any())).thenReturn(List.of(tx));
+        doAnswer(inv -> {
+            Consumer<ParsedTransaction> consumer = inv.getArgument(2);
+            consumer.accept(tx);
+            return null;
+        }).when(ofxParser).parse(any(), any(), any());
         when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
         when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
-        when(accountRepository.existsByCompanyIdAndDueDateAndAmountAndDescription(any(), any(), any(), any()))
-            .thenReturn(false);
+        when(accountRepository.findDuplicateCandidates(any(), any(), any(), any()))
+            .thenReturn(List.of());
 
         BankImport savedImport = new BankImport(companyId, "extrato.ofx", BankImportFileType.OFX, userId);
         savedImport.setId(UUID.randomUUID());
         when(importRepository.save(any())).thenReturn(savedImport);
 
-        BankImportItem savedItem = new BankImportItem(savedImport.getId(), LocalDate.now(),
-            "XPTO", new BigDecimal("100"), BankImportItemType.DEBIT, AccountType.PAYABLE);
-        savedItem.setId(UUID.randomUUID());
-        when(itemRepository.save(any())).thenReturn(savedItem);
-
         BankImportResponseDTO result = service.upload(companyId, userId, file);
         assertNotNull(result);
+        assertEquals(1, result.totalRecords());
         verify(importRepository, times(2)).save(any());
-        verify(itemRepository, times(1)).save(any());
+        verify(itemRepository, times(1)).saveAll(argThat(items ->
+            ((Collection<?>) items).size() == 1));
+    }
+
+    @Test
+    void upload_largeFile_persistsInBoundedChunks() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.ofx", "application/octet-stream",
+            "dummy".getBytes());
+        doAnswer(inv -> {
+            Consumer<ParsedTransaction> consumer = inv.getArgument(2);
+            for (int i = 0; i < 1200; i++) {
+                consumer.accept(new ParsedTransaction(LocalDate.now(), "TX " + i,
+                    BigDecimal.ONE, "DEBIT", Map.of()));
+            }
+            return null;
+        }).when(ofxParser).parse(any(), any(), any());
+        when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
+        when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+
+        BankImport savedImport = new BankImport(companyId, "extrato.ofx", BankImportFileType.OFX, userId);
+        savedImport.setId(UUID.randomUUID());
+        when(importRepository.save(any())).thenReturn(savedImport);
+
+        BankImportResponseDTO result = service.upload(companyId, userId, file);
+
+        assertEquals(1200, result.totalRecords());
+        verify(itemRepository, times(3)).saveAll(any());
+        verify(accountRepository, times(3)).findDuplicateCandidates(any(), any(), any(), any());
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void upload_flagsDuplicatesFromSingleBulkLookup() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.ofx", "application/octet-stream",
+            "dummy".getBytes());
+        LocalDate date = LocalDate.of(2026, 1, 10);
+        doAnswer(inv -> {
+            Consumer<ParsedTransaction> consumer = inv.getArgument(2);
+            consumer.accept(new ParsedTransaction(date, "ALUGUEL", new BigDecimal("1500"), "DEBIT", Map.of()));
+            consumer.accept(new ParsedTransaction(date.plusDays(1), "ENERGIA", new BigDecimal("200"), "DEBIT", Map.of()));
+            return null;
+        }).when(ofxParser).parse(any(), any(), any());
+        when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
+        when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{date, new BigDecimal("1500.00"), "ALUGUEL"});
+        when(accountRepository.findDuplicateCandidates(eq(companyId), eq(date), eq(date.plusDays(1)), any()))
+            .thenReturn(existing);
+
+        BankImport savedImport = new BankImport(companyId, "extrato.ofx", BankImportFileType.OFX, userId);
+        savedImport.setId(UUID.randomUUID());
+        when(importRepository.save(any())).thenReturn(savedImport);
+
+        service.upload(companyId, userId, file);
+
+        verify(accountRepository, times(1)).findDuplicateCandidates(any(), any(), any(), any());
+        verify(itemRepository).saveAll(argThat(items -> {
+            List<BankImportItem> list = new ArrayList<>();
+            items.forEach(list::add);
+            return list.get(0).isPossibleDuplicate() && !list.get(1).isPossibleDuplicate();
+        }));
     }
 
     @Test
     void upload_emptyFile_throws() throws Exception {
         var file = new MockMultipartFile("file", "extrato.ofx", "application/octet-stream", "dummy".getBytes());
-        when(ofxParser.parse(any(), any())).thenReturn(List.of());
+        when(importRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
         assertThrows(BusinessRuleException.class, () -> service.upload(companyId, userId, file));
     }
 
@@ -88,6 +170,200 @@ class BankImportServiceImplTest {
         assertThrows(BusinessRuleException.class, () -> service.upload(companyId, userId, file));
     }
 
+    @Test
+    void uploadAsync_processesInBackgroundAndTracksProgress() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.csv", "text/csv", "dummy".getBytes());
+        doAnswer(inv -> {
+            Consumer<ParsedTransaction> consumer = inv.getArgument(2);
+            for (int i = 0; i < 3; i++) {
+                consumer.accept(new ParsedTransaction(LocalDate.now(), "Pagamento " + i,
+                    new BigDecimal("10.00"), "DEBIT", Map.of()));
+            }
+            return null;
+        }).when(csvParser).parse(any(), any(), any());
+        when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
+        when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+        when(accountRepository.findDuplicateCandidates(any(), any(), any(), any())).thenReturn(List.of());
+
+        UUID importId = UUID.randomUUID();
+        List<BankImportStatus> savedStatuses = new ArrayList<>();
+        List<BankImport> saved = new ArrayList<>();
+        when(importRepository.save(any())).thenAnswer(inv -> {
+            BankImport bankImport = inv.getArgument(0);
+            bankImport.setId(importId);
+            savedStatuses.add(bankImport.getStatus());
+            saved.add(bankImport);
+            return bankImport;
+        });
+        when(importRepository.findById(importId)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        when(importRepository.touchProcessing(importId)).thenReturn(1);
+        when(importRepository.findByIdAndCompanyId(importId, companyId))
+            .thenAnswer(inv -> Optional.of(saved.get(0)));
+
+        BankImportResponseDTO result = service.uploadAsync(companyId, userId, file);
+
+        assertEquals("PROCESSING", result.status());
+        assertEquals(List.of(BankImportStatus.PROCESSING, BankImportStatus.PENDING_REVIEW), savedStatuses);
+        ImportProgressDTO progress = service.getProgress(companyId, importId);
+        assertEquals("PENDING_REVIEW", progress.status());
+        assertEquals(3, progress.parsed());
+        assertEquals(3, progress.persisted());
+        assertEquals(0, progress.matched());
+    }
+
+    @Test
+    void uploadAsync_parserFails_marksImportFailedAndDropsItems() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.csv", "text/csv", "dummy".getBytes());
+        doThrow(new BusinessRuleException("Formato invalido"))
+            .when(csvParser).parse(any(), any(), any());
+        when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
+        when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+
+        UUID importId = UUID.randomUUID();
+        List<BankImport> saved = new ArrayList<>();
+        when(importRepository.save(any())).thenAnswer(inv -> {
+            BankImport bankImport = inv.getArgument(0);
+            bankImport.setId(importId);
+            saved.add(bankImport);
+            return bankImport;
+        });
+        when(importRepository.findById(importId)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        when(importRepository.touchProcessing(importId)).thenReturn(1);
+
+        service.uploadAsync(companyId, userId, file);
+
+        verify(itemRepository).deleteByImportId(importId);
+        verify(importRepository, atLeastOnce()).save(argThat(bankImport ->
+            bankImport.getStatus() == BankImportStatus.FAILED &&
+                "Formato invalido".equals(bankImport.getErrorMessage())));
+    }
+
+    @Test
+    void uploadAsync_importAlreadyFailedBySweep_stopsWithoutParsing() throws Exception {
+        var file = new MockMultipartFile("file", "extrato.csv", "text/csv", "dummy".getBytes());
+        UUID importId = UUID.randomUUID();
+        List<BankImport> saved = new ArrayList<>();
+        when(importRepository.save(any())).thenAnswer(inv -> {
+            BankImport bankImport = inv.getArgument(0);
+            bankImport.setId(importId);
+            saved.add(bankImport);
+            return bankImport;
+        });
+        when(importRepository.findById(importId)).thenAnswer(inv -> Optional.of(saved.get(0)));
+        when(importRepository.touchProcessing(importId)).thenReturn(0);
+
+        service.uploadAsync(companyId, userId, file);
+
+        verify(csvParser, never()).parse(any(), any(), any());
+        verify(itemRepository).deleteByImportId(importId);
+        verify(importRepository, never()).save(argThat(bankImport ->
+            bankImport.getStatus() == BankImportStatus.PENDING_REVIEW));
+    }
+
+    @Test
+    void failStaleImports_marksStaleImportsFailedAndDropsPartialItems() {
+        UUID stale1 = UUID.randomUUID();
+        UUID stale2 = UUID.randomUUID();
+        when(importRepository.failStaleProcessing(eq(900L), any())).thenReturn(List.of(stale1, stale2));
+
+        int failed = service.failStaleImports(Duration.ofMinutes(15));
+
+        assertEquals(2, failed);
+        verify(itemRepository).deleteByImportIdIn(List.of(stale1, stale2));
+    }
+
+    @Test
+    void failStaleImports_noneStale_leavesItemsAlone() {
+        when(importRepository.failStaleProcessing(eq(900L), any())).thenReturn(List.of());
+
+        assertEquals(0, service.failStaleImports(Duration.ofMinutes(15)));
+        verify(itemRepository, never()).deleteByImportIdIn(any());
+    }
+
+    @Test
+    void updateItem_processingImport_throws() {
+        UUID importId = UUID.randomUUID();
+        BankImport bankImport = new BankImport(companyId, "f.pdf", BankImportFileType.PDF, userId);
+        bankImport.setId(importId);
+        bankImport.setStatus(BankImportStatus.PROCESSING);
+        when(importRepository.findByIdAndCompanyId(importId, companyId))
+            .thenReturn(Optional.of(bankImport));
+
+        assertThrows(BusinessRuleException.class, () -> service.updateItem(companyId, importId,
+            UUID.randomUUID(), new UpdateImportItemRequestDTO(null, null, null)));
+    }
+
+    @Test
+    void getById_resolvesNamesWithOneBulkLookupPerEntity() {
+        UUID importId = UUID.randomUUID();
+        BankImport bankImport = new BankImport(companyId, "f.ofx", BankImportFileType.OFX, userId);
+        bankImport.setId(importId);
+
+        Supplier supplier = new Supplier(companyId, "Fornecedor A");
+        supplier.setId(UUID.randomUUID());
+        Client client = new Client(companyId, "Cliente B");
+        client.setId(UUID.randomUUID());
+        Category category = new Category(UUID.randomUUID(), companyId, "Aluguel");
+        category.setId(UUID.randomUUID());
+
+        List<BankImportItem> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            BankImportItem item = new BankImportItem(importId, LocalDate.now(), "Item " + i,
+                new BigDecimal("10.00"), BankImportItemType.DEBIT, AccountType.PAYABLE);
+            item.setId(UUID.randomUUID());
+            item.setSupplierId(i % 2 == 0 ? supplier.getId() : client.getId());
+            item.setCategoryId(category.getId());
+            items.add(item);
+        }
+
+        when(importRepository.findByIdAndCompanyId(importId, companyId))
+            .thenReturn(Optional.of(bankImport));
+        when(itemRepository.findByImportId(eq(importId), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(items));
+        when(supplierRepository.findAllById(any())).thenReturn(List.of(supplier));
+        when(clientRepository.findAllById(Set.of(client.getId()))).thenReturn(List.of(client));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
+
+        BankImportResponseDTO result = service.getById(companyId, importId, Pageable.unpaged());
+
+        assertEquals(10, result.items().size());
+        assertEquals("Fornecedor A", result.items().get(0).supplierName());
+        assertEquals("Cliente B", result.items().get(1).supplierName());
+        assertEquals("Aluguel", result.items().get(0).categoryName());
+        verify(supplierRepository, times(1)).findAllById(any());
+        verify(clientRepository, times(1)).findAllById(any());
+        verify(categoryRepository, times(1)).findAllById(any());
+        verify(supplierRepository, never()).findById(any());
+        verify(categoryRepository, never()).findById(any());
+    }
+
+    @Test
+    void getById_paged_reportsPageMetadata() {
+        UUID importId = UUID.randomUUID();
+        BankImport bankImport = new BankImport(companyId, "f.ofx", BankImportFileType.OFX, userId);
+        bankImport.setId(importId);
+        bankImport.setTotalRecords(250);
+        Pageable pageable = PageRequest.of(1, 100, Sort.by("amount"));
+        when(importRepository.findByIdAndCompanyId(importId, companyId)).thenReturn(Optional.of(bankImport));
+        when(itemRepository.findByImportId(importId, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 250));
+
+        BankImportResponseDTO result = service.getById(companyId, importId, pageable);
+
+        assertEquals(250, result.totalRecords());
+        assertEquals(1, result.page());
+        assertEquals(100, result.size());
+        assertEquals(3, result.totalPages());
+    }
+
+    @Test
+    void getById_unknownSortProperty_throwsWithoutQuerying() {
+        UUID importId = UUID.randomUUID();
+
+        assertThrows(BusinessRuleException.class, () -> service.getById(companyId, importId,
+            PageRequest.of(0, 100, Sort.by("originalData"))));
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void confirm_withIncompleteItems_throws() {
         UUID importId = UUID.randomUUID();
@@ -154,19 +430,50 @@ class BankImportServiceImplTest {
         when(importRepository.findByIdAndCompanyId(importId, companyId))
             .thenReturn(Optional.of(bankImport));
         when(itemRepository.findByImportId(importId)).thenReturn(List.of(item));
-        when(supplierRepository.existsById(supplierId)).thenReturn(true);
-        when(matchRuleRepository.findByCompanyIdAndPattern(any(), any()))
-            .thenReturn(Optional.empty());
-        when(matchRuleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(supplierRepository.findAllById(Set.of(supplierId))).thenReturn(List.of(supplierWithId(supplierId)));
+
+        service.confirm(companyId, importId);
+
+        verify(accountRepository).saveAll(argThat(accounts -> {
+            Account account = accounts.iterator().next();
+            return account.getStatus() == AccountStatus.PAID &&
+                account.getPaymentDate() != null &&
+                account.getPaymentDate().equals(pastDate);
+        }));
+    }
+
+    @Test
+    void confirm_batchesAccountsAndRuleUpserts() {
+        UUID importId = UUID.randomUUID();
+        UUID supplierId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        BankImport bankImport = new BankImport(companyId, "f.ofx", BankImportFileType.OFX, userId);
+        bankImport.setId(importId);
+
+        List<BankImportItem> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            BankImportItem item = new BankImportItem(importId, LocalDate.now().minusDays(i), "Tarifa bancaria " + i,
+                BigDecimal.TEN, BankImportItemType.DEBIT, AccountType.PAYABLE);
+            item.setSupplierId(supplierId);
+            item.setCategoryId(categoryId);
+            items.add(item);
+        }
+
+        when(importRepository.findByIdAndCompanyId(importId, companyId))
+            .thenReturn(Optional.of(bankImport));
+        when(itemRepository.findByImportId(importId)).thenReturn(items);
+        when(supplierRepository.findAllById(Set.of(supplierId))).thenReturn(List.of(supplierWithId(supplierId)));
 
         service.confirm(companyId, importId);
 
-        verify(accountRepository).save(argThat(account ->
-            account.getStatus() == AccountStatus.PAID &&
-            account.getPaymentDate() != null &&
-            account.getPaymentDate().equals(pastDate)
-        ));
+        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, times(1)).saveAll(argThat(accounts ->
+            ((Collection<?>) accounts).size() == 3));
+        verify(supplierRepository, times(1)).findAllById(any());
+        verify(supplierRepository, never()).existsById(any());
+        verify(matchRuleRepository, never()).save(any());
+        verify(matchRuleRepository, times(1)).upsertAll(argThat(rules ->
+            rules.size() == 3 && rules.stream().allMatch(r -> r.getPattern().startsWith("tarifa bancaria"))));
     }
 
     @Test
@@ -187,18 +494,15 @@ class BankImportServiceImplTest {
         when(importRepository.findByIdAndCompanyId(importId, companyId))
             .thenReturn(Optional.of(bankImport));
         when(itemRepository.findByImportId(importId)).thenReturn(List.of(item));
-        when(supplierRepository.existsById(supplierId)).thenReturn(true);
-        when(matchRuleRepository.findByCompanyIdAndPattern(any(), any()))
-            .thenReturn(Optional.empty());
-        when(matchRuleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(supplierRepository.findAllById(Set.of(supplierId))).thenReturn(List.of(supplierWithId(supplierId)));
 
         service.confirm(companyId, importId);
 
-        verify(accountRepository).save(argThat(account ->
-            account.getStatus() == AccountStatus.PENDING &&
-            account.getPaymentDate() == null
-        ));
+        verify(accountRepository).saveAll(argThat(accounts -> {
+            Account account = accounts.iterator().next();
+            return account.getStatus() == AccountStatus.PENDING &&
+                account.getPaymentDate() == null;
+        }));
     }
 
     @Test
@@ -219,17 +523,20 @@ class BankImportServiceImplTest {
         when(importRepository.findByIdAndCompanyId(importId, companyId))
             .thenReturn(Optional.of(bankImport));
         when(itemRepository.findByImportId(importId)).thenReturn(List.of(item));
-        when(supplierRepository.existsById(clientId)).thenReturn(false);
-        when(matchRuleRepository.findByCompanyIdAndPattern(any(), any()))
-            .thenReturn(Optional.empty());
-        when(matchRuleRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(accountRepository.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(supplierRepository.findAllById(Set.of(clientId))).thenReturn(List.of());
 
         service.confirm(companyId, importId);
 
-        verify(accountRepository).save(argThat(account ->
-            account.getStatus() == AccountStatus.RECEIVED &&
-            account.getPaymentDate() != null
-        ));
+        verify(accountRepository).saveAll(argThat(accounts -> {
+            Account account = accounts.iterator().next();
+            return account.getStatus() == AccountStatus.RECEIVED &&
+                account.getPaymentDate() != null;
+        }));
+    }
+
+    private Supplier supplierWithId(UUID id) {
+        Supplier supplier = new Supplier(companyId, "Fornecedor");
+        supplier.setId(id);
+        return supplier;
     }
 }
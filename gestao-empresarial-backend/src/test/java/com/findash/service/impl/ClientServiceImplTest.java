@@ -10,6 +10,7 @@ import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.ClientMapper;
 import com.findash.repository.AccountRepository;
 import com.findash.repository.ClientRepository;
+import com.findash.service.matching.SupplierMatcherCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,13 +31,14 @@ class ClientServiceImplTest {
     @Mock private ClientRepository clientRepository;
     @Mock private ClientMapper clientMapper;
     @Mock private AccountRepository accountRepository;
+    @Mock private SupplierMatcherCache matcherCache;
 
     private ClientServiceImpl clientService;
     private UUID companyId;
 
     @BeforeEach
     void setUp() {
-        clientService = new ClientServiceImpl(clientRepository, clientMapper, accountRepository);
+        clientService = new ClientServiceImpl(clientRepository, clientMapper, accountRepository, matcherCache);
         companyId = UUID.randomUUID();
     }
 
@@ -8,6 +8,7 @@ import com.findash.exception.ForbiddenOperationException;
 import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.CompanyMapper;
 import com.findash.repository.*;
+import com.findash.security.CompanyMembershipCache;
 import com.findash.service.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -47,7 +49,8 @@ class CompanyServiceImplTest {
     void setUp() {
         companyService = new CompanyServiceImpl(
                 companyRepository, companyMemberRepository,
-                userRoleRepository, userRepository, companyMapper, categoryService);
+                userRoleRepository, userRepository, companyMapper, categoryService,
+                new CompanyMembershipCache(userRoleRepository, Duration.ofMinutes(1)));
 
         userId = UUID.randomUUID();
         companyId = UUID.randomUUID();
@@ -124,16 +127,8 @@ class CompanyServiceImplTest {
 
     @Test
     void listUserCompanies_returnsCompaniesWithRoles() {
-        UserRole role = new UserRole();
-        role.setUserId(userId);
-        role.setCompanyId(companyId);
-        role.setRole(Role.ADMIN);
-
-        when(companyRepository.findByMemberUserIdAndStatus(userId, MemberStatus.ACTIVE))
-                .thenReturn(List.of(company));
-        when(userRoleRepository.findByUserIdAndCompanyId(userId, companyId))
-                .thenReturn(Optional.of(role));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(companyRepository.findWithRoleAndOwnerByMemberUserIdAndStatus(userId, MemberStatus.ACTIVE))
+                .thenReturn(List.<Object[]>of(new Object[]{company, Role.ADMIN, "Joao Silva"}));
         when(companyMapper.toCompanyResponse(company, "ADMIN", "Joao Silva"))
                 .thenReturn(new CompanyResponseDTO(companyId, "Empresa Teste", "11.222.333/0001-81",
                         "Tecnologia", userId, "Joao Silva", "ADMIN", true));
@@ -143,6 +138,7 @@ class CompanyServiceImplTest {
         assertEquals(1, result.size());
         assertEquals("Empresa Teste", result.get(0).name());
         assertEquals("ADMIN", result.get(0).role());
+        verifyNoInteractions(userRoleRepository, userRepository);
     }
 
     @Test
@@ -522,29 +518,32 @@ class CompanyServiceImplTest {
         member2.setStatus(MemberStatus.ACTIVE);
         member2.setJoinedAt(Instant.now());
 
-        UserRole member2Role = new UserRole();
-        member2Role.setUserId(member2UserId);
-        member2Role.setCompanyId(companyId);
-        member2Role.setRole(Role.EDITOR);
+        CompanyMember pendingInvite = new CompanyMember();
+        pendingInvite.setCompanyId(companyId);
+        pendingInvite.setInvitedEmail("novo@email.com");
+        pendingInvite.setStatus(MemberStatus.INVITED);
 
         when(companyRepository.findById(companyId)).thenReturn(Optional.of(company));
         when(userRoleRepository.findByUserIdAndCompanyId(userId, companyId))
                 .thenReturn(Optional.of(adminRole));
-        when(companyMemberRepository.findByCompanyIdAndStatusNot(companyId, MemberStatus.REMOVED))
-                .thenReturn(List.of(member1, member2));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.findById(member2UserId)).thenReturn(Optional.of(member2User));
-        when(userRoleRepository.findByUserIdAndCompanyId(member2UserId, companyId))
-                .thenReturn(Optional.of(member2Role));
+        when(companyMemberRepository.findWithUserAndRoleByCompanyIdAndStatusNot(companyId, MemberStatus.REMOVED))
+                .thenReturn(List.of(
+                        new Object[]{member1, "Joao Silva", "joao@email.com", Role.ADMIN},
+                        new Object[]{member2, member2User.getName(), member2User.getEmail(), Role.EDITOR},
+                        new Object[]{pendingInvite, null, null, null}));
         when(companyMapper.toMemberResponse(eq(member1), eq("Joao Silva"), eq("joao@email.com"), eq("ADMIN")))
                 .thenReturn(new CompanyMemberResponseDTO(userId, "Joao Silva", "joao@email.com",
                         "ADMIN", "ACTIVE", member1.getJoinedAt()));
         when(companyMapper.toMemberResponse(eq(member2), eq("Maria Santos"), eq("maria@email.com"), eq("EDITOR")))
                 .thenReturn(new CompanyMemberResponseDTO(member2UserId, "Maria Santos", "maria@email.com",
                         "EDITOR", "ACTIVE", member2.getJoinedAt()));
+        when(companyMapper.toMemberResponse(eq(pendingInvite), isNull(), eq("novo@email.com"), isNull()))
+                .thenReturn(new CompanyMemberResponseDTO(null, null, "novo@email.com",
+                        null, "INVITED", null));
 
         List<CompanyMemberResponseDTO> result = companyService.listMembers(companyId, userId);
 
-        assertEquals(2, result.size());
+        assertEquals(3, result.size());
+        verify(userRepository, never()).findById(any());
     }
 }
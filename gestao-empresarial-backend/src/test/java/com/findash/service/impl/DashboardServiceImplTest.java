@@ -1,9 +1,11 @@
 package com.findash.service.impl;
 
 import com.findash.dto.dashboard.*;
-import com.findash.entity.AccountStatus;
 import com.findash.entity.AccountType;
-import com.findash.repository.AccountRepository;
+import com.findash.repository.DashboardDailyTotalRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +26,7 @@ import static org.mockito.Mockito.*;
 class DashboardServiceImplTest {
 
     @Mock
-    private AccountRepository accountRepository;
+    private DashboardDailyTotalRepository totalRepository;
 
     private DashboardServiceImpl service;
     private UUID companyId;
@@ -33,7 +35,7 @@ class DashboardServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        service = new DashboardServiceImpl(accountRepository);
+        service = new DashboardServiceImpl(totalRepository, ObservationRegistry.NOOP);
         companyId = UUID.randomUUID();
         from = LocalDate.of(2026, 1, 1);
         to = LocalDate.of(2026, 1, 31);
@@ -41,22 +43,10 @@ class DashboardServiceImplTest {
 
     @Test
     void getSummary_returnsAggregatedValues() {
-        when(accountRepository.sumByTypeAndStatuses(
-            eq(companyId), eq(AccountType.PAYABLE),
-            eq(List.of(AccountStatus.PENDING, AccountStatus.OVERDUE)), eq(from), eq(to)))
-            .thenReturn(new BigDecimal("5000.00"));
-        when(accountRepository.sumByTypeAndStatuses(
-            eq(companyId), eq(AccountType.RECEIVABLE),
-            eq(List.of(AccountStatus.PENDING)), eq(from), eq(to)))
-            .thenReturn(new BigDecimal("3000.00"));
-        when(accountRepository.sumByTypeAndStatuses(
-            eq(companyId), eq(AccountType.RECEIVABLE),
-            eq(List.of(AccountStatus.RECEIVED)), eq(from), eq(to)))
-            .thenReturn(new BigDecimal("8000.00"));
-        when(accountRepository.sumByTypeAndStatuses(
-            eq(companyId), eq(AccountType.PAYABLE),
-            eq(List.of(AccountStatus.PAID)), eq(from), eq(to)))
-            .thenReturn(new BigDecimal("2000.00"));
+        List<Object[]> totals = List.<Object[]>of(new Object[]{
+            new BigDecimal("5000.00"), new BigDecimal("3000.00"),
+            new BigDecimal("8000.00"), new BigDecimal("2000.00")});
+        when(totalRepository.findSummaryTotals(companyId, from, to)).thenReturn(totals);
 
         DashboardSummaryDTO result = service.getSummary(companyId, from, to);
 
@@ -64,12 +54,14 @@ class DashboardServiceImplTest {
         assertEquals(new BigDecimal("3000.00"), result.totalReceivable());
         assertEquals(new BigDecimal("8000.00"), result.totalRevenue());
         assertEquals(new BigDecimal("2000.00"), result.totalExpenses());
+        verify(totalRepository, times(1)).findSummaryTotals(any(), any(), any());
     }
 
     @Test
     void getSummary_noAccounts_returnsZeros() {
-        when(accountRepository.sumByTypeAndStatuses(any(), any(), anyList(), any(), any()))
-            .thenReturn(BigDecimal.ZERO);
+        List<Object[]> totals = List.<Object[]>of(new Object[]{
+            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+        when(totalRepository.findSummaryTotals(any(), any(), any())).thenReturn(totals);
 
         DashboardSummaryDTO result = service.getSummary(companyId, from, to);
 
@@ -79,6 +71,56 @@ class DashboardServiceImplTest {
         assertEquals(BigDecimal.ZERO, result.totalExpenses());
     }
 
+    @Test
+    void getOverview_reusesCashFlowForMonthlyEvolution() {
+        List<Object[]> totals = List.<Object[]>of(new Object[]{
+            BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.ZERO});
+        when(totalRepository.findSummaryTotals(companyId, from, to)).thenReturn(totals);
+        List<Object[]> monthly = List.of(
+            new Object[]{"2026-01", AccountType.RECEIVABLE, new BigDecimal("3000")},
+            new Object[]{"2026-01", AccountType.PAYABLE, new BigDecimal("1000")}
+        );
+        when(totalRepository.findMonthlyTotalsByType(eq(companyId), anyList(), eq(from), eq(to)))
+            .thenReturn(monthly);
+        when(totalRepository.findRevenueExpenseByCategory(eq(companyId), anyList(), eq(from), eq(to)))
+            .thenReturn(List.of());
+
+        DashboardOverviewDTO result = service.getOverview(companyId, from, to);
+
+        assertEquals(BigDecimal.TEN, result.summary().totalRevenue());
+        assertEquals(1, result.cashFlow().size());
+        assertEquals(new BigDecimal("2000"), result.monthlyEvolution().get(0).balance());
+        assertTrue(result.revenueExpense().isEmpty());
+        verify(totalRepository, times(1)).findMonthlyTotalsByType(any(), anyList(), any(), any());
+    }
+
+    @Test
+    void getOverview_recordsOneObservationWithoutNestedOperations() {
+        List<String> started = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+            @Override
+            public void onStart(Observation.Context context) {
+                started.add(context.getLowCardinalityKeyValue("operation").getValue());
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        service = new DashboardServiceImpl(totalRepository, registry);
+        when(totalRepository.findSummaryTotals(companyId, from, to)).thenReturn(List.of());
+        when(totalRepository.findMonthlyTotalsByType(eq(companyId), anyList(), eq(from), eq(to)))
+            .thenReturn(List.of());
+        when(totalRepository.findRevenueExpenseByCategory(eq(companyId), anyList(), eq(from), eq(to)))
+            .thenReturn(List.of());
+
+        service.getOverview(companyId, from, to);
+
+        assertEquals(List.of("overview"), started);
+    }
+
     @Test
     void getCashFlow_groupsByMonthAndType() {
         List<Object[]> mockRows = List.of(
@@ -86,7 +128,7 @@ class DashboardServiceImplTest {
             new Object[]{"2026-01", AccountType.PAYABLE, new BigDecimal("1500")},
             new Object[]{"2026-02", AccountType.RECEIVABLE, new BigDecimal("4000")}
         );
-        when(accountRepository.findMonthlyTotalsByType(eq(companyId), anyList(), eq(from), eq(to)))
+        when(totalRepository.findMonthlyTotalsByType(eq(companyId), anyList(), eq(from), eq(to)))
             .thenReturn(mockRows);
 
         List<CashFlowPointDTO> result = service.getCashFlow(companyId, from, to);
@@ -105,7 +147,7 @@ class DashboardServiceImplTest {
 
     @Test
     void getCashFlow_noData_returnsEmptyList() {
-        when(accountRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
+        when(totalRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
             .thenReturn(List.of());
 
         List<CashFlowPointDTO> result = service.getCashFlow(companyId, from, to);
@@ -121,7 +163,7 @@ class DashboardServiceImplTest {
             new Object[]{"2026-02", AccountType.RECEIVABLE, new BigDecimal("2000")},
             new Object[]{"2026-02", AccountType.PAYABLE, new BigDecimal("500")}
         );
-        when(accountRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
+        when(totalRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
             .thenReturn(mockRows);
 
         List<MonthlyEvolutionPointDTO> result = service.getMonthlyEvolution(companyId, from, to);
@@ -137,7 +179,7 @@ class DashboardServiceImplTest {
             new Object[]{"Aluguel", "Despesas Fixas", AccountType.PAYABLE, new BigDecimal("2000")},
             new Object[]{"Vendas", "Receitas", AccountType.RECEIVABLE, new BigDecimal("5000")}
         );
-        when(accountRepository.findRevenueExpenseByCategory(any(), anyList(), any(), any()))
+        when(totalRepository.findRevenueExpenseByCategory(any(), anyList(), any(), any()))
             .thenReturn(mockRows);
 
         List<RevenueExpenseItemDTO> result = service.getRevenueExpense(companyId, from, to);
@@ -151,7 +193,7 @@ class DashboardServiceImplTest {
         for (int i = 0; i < 12; i++) {
             mockRows.add(new Object[]{"Cat " + i, "Grupo", AccountType.PAYABLE, new BigDecimal("100")});
         }
-        when(accountRepository.findRevenueExpenseByCategory(any(), anyList(), any(), any()))
+        when(totalRepository.findRevenueExpenseByCategory(any(), anyList(), any(), any()))
             .thenReturn(mockRows);
 
         List<RevenueExpenseItemDTO> result = service.getRevenueExpense(companyId, from, to);
@@ -163,11 +205,24 @@ class DashboardServiceImplTest {
 
     @Test
     void getMonthlyEvolution_noData_returnsEmptyList() {
-        when(accountRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
+        when(totalRepository.findMonthlyTotalsByType(any(), anyList(), any(), any()))
             .thenReturn(List.of());
 
         List<MonthlyEvolutionPointDTO> result = service.getMonthlyEvolution(companyId, from, to);
 
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void rebuildAggregates_locksThenReplacesCompanyRows() {
+        when(totalRepository.rebuildForCompany(companyId)).thenReturn(42);
+
+        int rows = service.rebuildAggregates(companyId);
+
+        assertEquals(42, rows);
+        var inOrder = inOrder(totalRepository);
+        inOrder.verify(totalRepository).lockForRebuild();
+        inOrder.verify(totalRepository).deleteByCompanyId(companyId);
+        inOrder.verify(totalRepository).rebuildForCompany(companyId);
+    }
 }
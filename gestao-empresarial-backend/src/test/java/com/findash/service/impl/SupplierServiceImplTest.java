@@ -10,6 +10,7 @@ import com.findash.exception.ResourceNotFoundException;
 import com.findash.mapper.SupplierMapper;
 import com.findash.repository.AccountRepository;
 import com.findash.repository.SupplierRepository;
+import com.findash.service.matching.SupplierMatcherCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,13 +37,16 @@ class SupplierServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private SupplierMatcherCache matcherCache;
+
     private SupplierServiceImpl supplierService;
 
     private UUID companyId;
 
     @BeforeEach
     void setUp() {
-        supplierService = new SupplierServiceImpl(supplierRepository, supplierMapper, accountRepository);
+        supplierService = new SupplierServiceImpl(supplierRepository, supplierMapper, accountRepository, matcherCache);
         companyId = UUID.randomUUID();
     }
 
@@ -64,6 +68,7 @@ class SupplierServiceImplTest {
         assertNotNull(result);
         assertEquals("Fornecedor A", result.name());
         verify(supplierRepository).save(any(Supplier.class));
+        verify(matcherCache).invalidate(companyId);
     }
 
     @Test
@@ -163,6 +168,7 @@ class SupplierServiceImplTest {
         supplierService.delete(companyId, supplierId);
 
         verify(supplierRepository).delete(supplier);
+        verify(matcherCache).invalidate(companyId);
     }
 
     @Test
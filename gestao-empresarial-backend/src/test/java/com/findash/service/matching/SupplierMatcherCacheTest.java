@@ -0,0 +1,54 @@
+package com.findash.service.matching;
+
+import com.findash.repository.ClientRepository;
+import com.findash.repository.SupplierMatchRuleRepository;
+import com.findash.repository.SupplierRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SupplierMatcherCacheTest {
+
+    @Mock private SupplierMatchRuleRepository matchRuleRepository;
+    @Mock private SupplierRepository supplierRepository;
+    @Mock private ClientRepository clientRepository;
+
+    private final UUID companyId = UUID.randomUUID();
+
+    @Test
+    void get_withinTtl_compilesOnce() {
+        stubEmptyCompany();
+        SupplierMatcherCache cache = cache(Duration.ofMinutes(1));
+
+        assertSame(cache.get(companyId), cache.get(companyId));
+        verify(matchRuleRepository, times(1)).findByCompanyId(companyId);
+    }
+
+    @Test
+    void get_afterTtl_recompilesChangesMadeOnOtherNodes() {
+        stubEmptyCompany();
+        SupplierMatcherCache cache = cache(Duration.ZERO);
+
+        assertNotSame(cache.get(companyId), cache.get(companyId));
+        verify(matchRuleRepository, times(2)).findByCompanyId(companyId);
+    }
+
+    private SupplierMatcherCache cache(Duration ttl) {
+        return new SupplierMatcherCache(matchRuleRepository, supplierRepository, clientRepository, ttl);
+    }
+
+    private void stubEmptyCompany() {
+        when(matchRuleRepository.findByCompanyId(companyId)).thenReturn(List.of());
+        when(supplierRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+        when(clientRepository.findByCompanyIdAndActiveTrue(companyId)).thenReturn(List.of());
+    }
+}
@@ -0,0 +1,84 @@
+package com.findash.service.matching;
+
+import com.findash.entity.AccountType;
+import com.findash.entity.Client;
+import com.findash.entity.Supplier;
+import com.findash.entity.SupplierMatchRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SupplierMatcherTest {
+
+    private final UUID companyId = UUID.randomUUID();
+
+    private Supplier supplier(String name) {
+        Supplier supplier = new Supplier(companyId, name);
+        supplier.setId(UUID.randomUUID());
+        return supplier;
+    }
+
+    private Client client(String name) {
+        Client client = new Client(companyId, name);
+        client.setId(UUID.randomUUID());
+        return client;
+    }
+
+    @Test
+    void match_ruleWinsOverSupplierName() {
+        UUID ruleSupplier = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        var rule = new SupplierMatchRule(companyId, "pix enviado", ruleSupplier, categoryId);
+        var matcher = SupplierMatcher.compile(List.of(rule), List.of(supplier("Enviado Ltda")), List.of());
+
+        var match = matcher.match("PIX ENVIADO ENVIADO LTDA", AccountType.PAYABLE);
+
+        assertEquals(ruleSupplier, match.counterpartyId());
+        assertEquals(categoryId, match.categoryId());
+    }
+
+    @Test
+    void match_firstRuleInListWins_likeLinearScan() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        var matcher = SupplierMatcher.compile(List.of(
+            new SupplierMatchRule(companyId, "energia", first, null),
+            new SupplierMatchRule(companyId, "conta de energia", second, null)
+        ), List.of(), List.of());
+
+        assertEquals(first, matcher.match("Pagto conta de energia", AccountType.PAYABLE).counterpartyId());
+    }
+
+    @Test
+    void match_overlappingPatternsFoundThroughFailureLinks() {
+        UUID target = UUID.randomUUID();
+        var matcher = SupplierMatcher.compile(List.of(
+            new SupplierMatchRule(companyId, "abcx", UUID.randomUUID(), null),
+            new SupplierMatchRule(companyId, "bcd", target, null)
+        ), List.of(), List.of());
+
+        assertEquals(target, matcher.match("xxabcdxx", AccountType.PAYABLE).counterpartyId());
+    }
+
+    @Test
+    void match_nameFallbackDependsOnAccountType() {
+        Supplier supplier = supplier("Loja XYZ");
+        Client client = client("Cliente ABC");
+        var matcher = SupplierMatcher.compile(List.of(), List.of(supplier), List.of(client));
+
+        assertEquals(supplier.getId(),
+            matcher.match("COMPRA LOJA XYZ CLIENTE ABC", AccountType.PAYABLE).counterpartyId());
+        assertEquals(client.getId(),
+            matcher.match("COMPRA LOJA XYZ CLIENTE ABC", AccountType.RECEIVABLE).counterpartyId());
+        assertNull(matcher.match("COMPRA LOJA XYZ", AccountType.RECEIVABLE));
+    }
+
+    @Test
+    void match_noPatterns_returnsNull() {
+        assertNull(SupplierMatcher.empty().match("qualquer coisa", AccountType.PAYABLE));
+        assertNull(SupplierMatcher.empty().match(null, AccountType.PAYABLE));
+    }
+}
@@ -4,8 +4,12 @@ import com.findash.exception.BusinessRuleException;
 import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 class CsvParserTest {
@@ -28,10 +32,59 @@ class CsvParserTest {
         assertEquals("Teste", result.get(0).description());
     }
 
+    @Test
+    void parse_isoLatin1File_streamsTransactionsToConsumer() throws Exception {
+        String csv = "data;descricao;valor;tipo\n2026-01-15;Manutenção;80.00;DEBIT\n";
+        InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.ISO_8859_1));
+        List<ParsedTransaction> received = new ArrayList<>();
+        parser.parse(input, "test.csv", received::add);
+        assertEquals(1, received.size());
+        assertEquals("Manutenção", received.get(0).description());
+    }
+
     @Test
     void parse_unrecognizedFormat_throwsBusinessRuleException() {
         String csv = "coluna1;coluna2\nvalor1;valor2\n";
         InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
         assertThrows(BusinessRuleException.class, () -> parser.parse(input, "test.csv"));
     }
+
+    @Test
+    void parse_standardTemplate_parsesQuotedFieldsAmountsAndRawRow() throws Exception {
+        String csv = "Data;Descricao;Valor;Tipo\r\n" +
+            "2026-01-31;\"Aluguel; sala 2\";-1234,5;credit\r\n" +
+            "\r\n" +
+            "2026-02-01; Tarifa ;7;DEBIT\r\n";
+        InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+
+        List<ParsedTransaction> result = parser.parse(input, "test.csv");
+
+        assertEquals(2, result.size());
+        ParsedTransaction first = result.get(0);
+        assertEquals(LocalDate.of(2026, 1, 31), first.date());
+        assertEquals("Aluguel; sala 2", first.description());
+        assertEquals(0, new BigDecimal("1234.50").compareTo(first.amount()));
+        assertEquals("CREDIT", first.type());
+        assertEquals(Map.of("Data", "2026-01-31", "Descricao", "Aluguel; sala 2",
+            "Valor", "-1234,5", "Tipo", "credit"), first.rawData().get("raw"));
+        assertEquals("Tarifa", result.get(1).description());
+        assertEquals(0, new BigDecimal("7").compareTo(result.get(1).amount()));
+        assertEquals("DEBIT", result.get(1).type());
+    }
+
+    @Test
+    void parse_standardTemplateInvalidDate_throwsBusinessRuleException() {
+        String csv = "data;descricao;valor\n15/01/2026;Teste;10.00\n";
+        InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        assertThrows(BusinessRuleException.class, () -> parser.parse(input, "test.csv"));
+    }
+
+    @Test
+    void parse_reorderedColumns_usesGenericParser() throws Exception {
+        String csv = "descricao,valor,data\nTeste,10.00,2026-01-15\n";
+        InputStream input = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+        List<ParsedTransaction> result = parser.parse(input, "test.csv");
+        assertEquals(1, result.size());
+        assertEquals(LocalDate.of(2026, 1, 15), result.get(0).date());
+    }
 }
@@ -46,6 +46,29 @@ class PdfParserTest {
         }
     }
 
+    private InputStream createMultiPagePdf(int pages) throws Exception {
+        try (PDDocument doc = new PDDocument()) {
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.COURIER), 10);
+                    content.setLeading(14f);
+                    content.newLineAtOffset(50, 700);
+                    content.showText("15/01/2026  PAGAMENTO PAGINA " + i + "    " + i + ",00");
+                    content.newLine();
+                    content.showText("16/01/2026  TARIFA PAGINA " + i + "    1,00");
+                    content.endText();
+                }
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return new ByteArrayInputStream(out.toByteArray());
+        }
+    }
+
     @Test
     void parse_validPdfWithTransactions_returnsCorrectCount() throws Exception {
         InputStream pdf = createSamplePdf(
@@ -128,4 +151,28 @@ class PdfParserTest {
         assertEquals(1, result.size());
         assertEquals(0, new BigDecimal("450.00").compareTo(result.get(0).amount()));
     }
+
+    @Test
+    void parse_multiPagePdf_extractsRangesInParallelAndKeepsPageOrder() throws Exception {
+        InputStream pdf = createMultiPagePdf(40);
+
+        List<ParsedTransaction> result = parser.parse(pdf, "extrato.pdf");
+
+        assertEquals(80, result.size());
+        for (int i = 1; i <= 40; i++) {
+            assertEquals("PAGAMENTO PAGINA " + i, result.get((i - 1) * 2).description());
+            assertEquals("TARIFA PAGINA " + i, result.get((i - 1) * 2 + 1).description());
+        }
+    }
+
+    @Test
+    void parse_pdfLargerThanLimit_throwsBeforeLoading() throws Exception {
+        InputStream pdf = createMultiPagePdf(40);
+
+        BusinessRuleException ex = assertThrows(
+                BusinessRuleException.class,
+                () -> new PdfParser(1024).parse(pdf, "extrato.pdf")
+        );
+        assertTrue(ex.getMessage().contains("tamanho maximo"));
+    }
 }
@@ -0,0 +1,85 @@
+package com.findash.service.recurrence;
+
+import com.findash.entity.*;
+import com.findash.repository.AccountRepository;
+import com.findash.repository.RecurrenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurrenceMaterializerTest {
+
+    @Mock private AccountRepository accountRepository;
+    @Mock private RecurrenceRepository recurrenceRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private RecurrenceMaterializer materializer;
+    private UUID companyId;
+    private Account template;
+
+    @BeforeEach
+    void setUp() {
+        materializer = new RecurrenceMaterializer(accountRepository, recurrenceRepository, eventPublisher, 28);
+        companyId = UUID.randomUUID();
+        template = new Account(companyId, AccountType.PAYABLE, "Diarista", new BigDecimal("150.00"),
+            LocalDate.now(), UUID.randomUUID());
+    }
+
+    @Test
+    void materialize_stopsAtHorizonAndKeepsNextDueDate() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        Recurrence recurrence = new Recurrence(companyId, RecurrenceFrequency.WEEKLY, start);
+        recurrence.setNextDueDate(start);
+        when(accountRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Account> created = materializer.materialize(recurrence, template);
+
+        // start, +7, +14, +21 cabem em 28 dias; +28 fica para a proxima execucao
+        assertEquals(4, created.size());
+        assertEquals(start.plusWeeks(4), recurrence.getNextDueDate());
+        assertEquals(4, recurrence.getGeneratedCount());
+        assertEquals(AccountStatus.PENDING, created.get(0).getStatus());
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void materialize_maxOccurrencesReached_clearsNextDueDate() {
+        LocalDate start = LocalDate.now().plusDays(1);
+        Recurrence recurrence = new Recurrence(companyId, RecurrenceFrequency.WEEKLY, start);
+        recurrence.setMaxOccurrences(2);
+        recurrence.setNextDueDate(start);
+        when(accountRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Account> created = materializer.materialize(recurrence, template);
+
+        assertEquals(2, created.size());
+        assertNull(recurrence.getNextDueDate());
+    }
+
+    @Test
+    void materialize_firstOccurrenceBeyondHorizon_isStillCreated() {
+        LocalDate start = LocalDate.now().plusYears(1);
+        Recurrence recurrence = new Recurrence(companyId, RecurrenceFrequency.MONTHLY, start);
+        recurrence.setNextDueDate(start);
+        when(accountRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        List<Account> created = materializer.materialize(recurrence, template);
+
+        assertEquals(1, created.size());
+        assertEquals(start.plusMonths(1), recurrence.getNextDueDate());
+    }
+}